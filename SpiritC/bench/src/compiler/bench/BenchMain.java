@@ -0,0 +1,170 @@
+package compiler.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Runs the benchmarks with the GC profiler and compares the results against a baseline.
+ *
+ * Usage:
+ * <pre>
+ * java -cp bench/target/benchmarks.jar compiler.bench.BenchMain [--save-baseline] [benchmark regex]
+ * </pre>
+ *
+ * The results are written to bench/results.csv. Every score, including the allocation rates of the GC profiler,
+ * is printed next to the score in bench/baseline.csv, if there is one. --save-baseline makes the results the
+ * new baseline. Commit the baseline together with the change it measures.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+public class BenchMain
+{
+	private static final File RESULTS = new File("bench/results.csv");
+	private static final File BASELINE = new File("bench/baseline.csv");
+
+	public static void main(String[] args) throws RunnerException, IOException
+	{
+		boolean saveBaseline = false;
+		String include = "compiler\\.bench\\..*Benchmark";
+
+		for (String arg : args)
+		{
+			if (arg.equals("--save-baseline"))
+				saveBaseline = true;
+			else
+				include = arg;
+		}
+
+		ChainedOptionsBuilder options = new OptionsBuilder()
+				.include(include)
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.CSV)
+				.result(RESULTS.getPath());
+
+		Collection<RunResult> results = new Runner(options.build()).run();
+		if (results.isEmpty())
+			return;
+
+		if (BASELINE.exists())
+			compare(readScores(RESULTS), readScores(BASELINE));
+
+		if (saveBaseline)
+		{
+			Files.copy(RESULTS.toPath(), BASELINE.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			System.out.println("Saved the results as the new baseline: " + BASELINE);
+		}
+	}
+
+	/**
+	 * Prints every score next to its baseline.
+	 * @param scores The scores of this run.
+	 * @param baseline The scores of the baseline.
+	 */
+	private static void compare(Map<String, double[]> scores, Map<String, double[]> baseline)
+	{
+		System.out.println();
+		System.out.println("Compared to " + BASELINE + ":");
+		System.out.printf("%-70s %16s %16s %9s%n", "Benchmark", "Baseline", "Now", "Change");
+		for (Map.Entry<String, double[]> score : scores.entrySet())
+		{
+			double now = score.getValue()[0];
+			double[] before = baseline.get(score.getKey());
+			if (before == null)
+			{
+				System.out.printf("%-70s %16s %16.3f %9s%n", score.getKey(), "-", now, "new");
+				continue;
+			}
+
+			// The error is the 99.9% confidence interval, so anything within it is noise. //
+			double change = (now - before[0]) / before[0] * 100;
+			boolean significant = Math.abs(now - before[0]) > score.getValue()[1] + before[1];
+			System.out.printf("%-70s %16.3f %16.3f %8.1f%%%s%n", score.getKey(), before[0], now, change,
+					significant ? "" : " (noise)");
+		}
+	}
+
+	/**
+	 * Reads a CSV result file of JMH.
+	 * @param file The file.
+	 * @return The score and the score error of every benchmark and secondary result, by name and unit.
+	 */
+	private static Map<String, double[]> readScores(File file) throws IOException
+	{
+		Map<String, double[]> scores = new LinkedHashMap<>();
+		List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+		if (lines.isEmpty())
+			return scores;
+
+		List<String> header = parseLine(lines.get(0));
+		int name = header.indexOf("Benchmark");
+		int score = header.indexOf("Score");
+		int error = header.indexOf("Score Error (99.9%)");
+		int unit = header.indexOf("Unit");
+
+		for (String line : lines.subList(1, lines.size()))
+		{
+			List<String> values = parseLine(line);
+			try
+			{
+				double errorValue = values.get(error).isEmpty() ? 0 : Double.parseDouble(values.get(error));
+				scores.put(values.get(name) + " [" + values.get(unit) + "]",
+						new double[] {Double.parseDouble(values.get(score)), errorValue});
+			}
+			catch (NumberFormatException | IndexOutOfBoundsException e)
+			{
+				// E.g. NaN for a benchmark that didn't allocate. //
+			}
+		}
+		return scores;
+	}
+
+	/**
+	 * Splits a line of CSV. Values may be quoted, and quotes in quoted values are doubled.
+	 */
+	private static List<String> parseLine(String line)
+	{
+		List<String> values = new ArrayList<>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++)
+		{
+			char c = line.charAt(i);
+			if (quoted)
+			{
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"')
+				{
+					value.append('"');
+					i++;
+				}
+				else if (c == '"')
+					quoted = false;
+				else
+					value.append(c);
+			}
+			else if (c == '"')
+				quoted = true;
+			else if (c == ',')
+			{
+				values.add(value.toString());
+				value.setLength(0);
+			}
+			else
+				value.append(c);
+		}
+		values.add(value.toString());
+		return values;
+	}
+}
@@ -0,0 +1,102 @@
+package compiler.bench;
+
+import compiler.*;
+import compiler.ast.*;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The source code that every benchmark works on.
+ *
+ * The corpus is generated, but always the same, so that results can be compared between runs and commits.
+ * It has a bit of everything the parser handles, and only uses names that are declared, so that it can be
+ * checked and emitted too.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+public class Corpus
+{
+	/**
+	 * How many groups of declarations the corpus has. Every group is LINES_PER_GROUP lines long.
+	 */
+	public static final int GROUPS = 2000;
+
+	public static final int LINES_PER_GROUP = 7;
+
+	public static final int LINES = GROUPS * LINES_PER_GROUP;
+
+	public static final String FILE_NAME = "Bench" + Main.FILE_EXTENSION;
+
+	/**
+	 * @return The source code of the corpus.
+	 */
+	public static byte[] source()
+	{
+		StringBuilder source = new StringBuilder();
+		for (int i = 0; i < GROUPS; i++)
+		{
+			source.append("v").append(i).append(" := ").append(i).append('\n');
+			source.append("f").append(i).append(" : (x : int) int = x * v").append(i).append(" + 2 - x / 3\n");
+			source.append("g").append(i).append(" : (x : int)\n");
+			source.append("\tif x > ").append(i).append('\n');
+			source.append("\t\tf").append(i).append(" 4\n");
+			source.append("\telse\n");
+			source.append("\t\tf").append(i).append(" (v").append(i).append(" + 1)\n");
+		}
+		return source.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Parses the corpus.
+	 * @param source The source code of the corpus.
+	 * @return The parsed class.
+	 */
+	public static ASTClass parse(byte[] source)
+	{
+		// Named Object, since every other class imports Object from the package path. //
+		ASTClass astClass = new ASTClass(Syntax.ReservedNames.OBJECT_CLASS, null);
+		Parser parser = new Parser(new Lexer(source, FILE_NAME));
+		parser.fileTypeDeclared = true;
+		parser.ignoreImport = true;
+		parser.parseFile(astClass);
+		return astClass;
+	}
+
+	/**
+	 * Parses, polishes and resolves the corpus, just like FileCompiler does before it emits a class.
+	 * @return The class, ready to be emitted.
+	 */
+	public static ASTClass load()
+	{
+		ASTClass astClass = parse(source());
+		new Polisher(astClass).polishClass();
+		new NameResolver(astClass).resolveClass();
+		return astClass;
+	}
+
+	/**
+	 * @param astBase The root of an AST.
+	 * @return How many nodes the AST has.
+	 */
+	public static int countNodes(ASTBase astBase)
+	{
+		int[] count = {0};
+		astBase.accept(new ASTVisitor()
+		{
+			@Override
+			public void visitChildren(ASTParent astParent)
+			{
+				count[0]++;
+				super.visitChildren(astParent);
+			}
+
+			@Override public void visitVariableUsage(ASTVariableUsage astVariableUsage) 				{ count[0]++; }
+			@Override public void visitNumber(ASTNumber astNumber) 										{ count[0]++; }
+			@Override public void visitString(ASTString astString) 										{ count[0]++; }
+			@Override public void visitInline(ASTInline astInline) 										{ count[0]++; }
+			@Override public void visitFileTypeDeclaration(ASTFileTypeDeclaration astFileTypeDeclaration) { count[0]++; }
+		});
+		return count[0];
+	}
+}
@@ -0,0 +1,94 @@
+package compiler.bench;
+
+import compiler.Main;
+import compiler.ast.ASTClass;
+import compiler.backends.CompilerCPP;
+import compiler.backends.CompilerSYM;
+import compiler.lib.IndentPrinter;
+import compiler.lib.SymbolFile;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many bytes per second CompilerCPP and CompilerSYM emit for the corpus.
+ * The output is encoded, but kept in memory instead of being written to disk.
+ *
+ * cppToStreams emits the C++ through IndentPrinters that print to PrintStreams over byte arrays, the way the
+ * backend used to, to compare against cpp, which prints into memory the way it does now.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmitBenchmark
+{
+	private ASTClass astClass;
+
+	/**
+	 * Counts the emitted bytes, so that JMH reports them per second next to the corpora per second.
+	 */
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Bytes
+	{
+		public long bytes;
+	}
+
+	@Setup
+	public void setup()
+	{
+		astClass = Corpus.load();
+	}
+
+	@Benchmark
+	public void cpp(Bytes counter)
+	{
+		IndentPrinter cppOutput = new IndentPrinter(16 * 1024);
+		IndentPrinter hppOutput = new IndentPrinter(16 * 1024);
+		new CompilerCPP(cppOutput, hppOutput).compileClass(astClass);
+
+		ByteBuffer cpp = cppOutput.toBytes();
+		ByteBuffer hpp = hppOutput.toBytes();
+		counter.bytes += cpp.remaining() + hpp.remaining();
+	}
+
+	@Benchmark
+	public void cppToStreams(Bytes counter)
+	{
+		ByteArrayOutputStream cppBuffer = new ByteArrayOutputStream();
+		ByteArrayOutputStream hppBuffer = new ByteArrayOutputStream();
+		PrintStream cppStream = new PrintStream(cppBuffer, false);
+		PrintStream hppStream = new PrintStream(hppBuffer, false);
+		new CompilerCPP(new IndentPrinter(cppStream), new IndentPrinter(hppStream)).compileClass(astClass);
+
+		cppStream.flush();
+		hppStream.flush();
+		counter.bytes += cppBuffer.toByteArray().length + hppBuffer.toByteArray().length;
+	}
+
+	@Benchmark
+	public void sym(Bytes counter)
+	{
+		SymbolFile symbolFile = new SymbolFile(Main.VERSION);
+		new CompilerSYM(symbolFile).compileClass(astClass);
+		counter.bytes += symbolFile.toBytes().length;
+	}
+
+	@Benchmark
+	public void symText(Bytes counter)
+	{
+		CompilerSYM compiler = new CompilerSYM();
+		compiler.symOutput = new IndentPrinter(1024);
+		compiler.compileClass(astClass);
+		counter.bytes += compiler.symOutput.toBytes().remaining();
+	}
+}
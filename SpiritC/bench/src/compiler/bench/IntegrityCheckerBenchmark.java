@@ -0,0 +1,50 @@
+package compiler.bench;
+
+import compiler.IntegrityChecker;
+import compiler.ast.ASTClass;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many nodes per second the IntegrityChecker checks in the parsed corpus.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntegrityCheckerBenchmark
+{
+	private ASTClass astClass;
+	private int nodeCount;
+
+	/**
+	 * Counts the nodes, so that JMH reports them per second next to the corpora per second.
+	 */
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Nodes
+	{
+		public long nodes;
+	}
+
+	@Setup
+	public void setup()
+	{
+		// Checked right after parsing, just like FileCompiler does. //
+		astClass = Corpus.parse(Corpus.source());
+		nodeCount = Corpus.countNodes(astClass);
+	}
+
+	@Benchmark
+	public void check(Nodes counter)
+	{
+		new IntegrityChecker(astClass).checkIntegrity();
+		counter.nodes += nodeCount;
+	}
+}
@@ -0,0 +1,53 @@
+package compiler.bench;
+
+import compiler.Lexer;
+import compiler.Token;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many tokens per second Lexer.getToken reads from the corpus.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LexerBenchmark
+{
+	private byte[] source;
+
+	/**
+	 * Counts the tokens, so that JMH reports them per second next to the corpora per second.
+	 */
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Tokens
+	{
+		public long tokens;
+	}
+
+	@Setup
+	public void setup()
+	{
+		source = Corpus.source();
+	}
+
+	@Benchmark
+	public Token lex(Tokens counter)
+	{
+		Lexer lexer = new Lexer(source, Corpus.FILE_NAME);
+		Token token;
+		do
+		{
+			token = lexer.getToken();
+			counter.tokens++;
+		} while (token.tokenType != Token.TokenType.EOF);
+		return token;
+	}
+}
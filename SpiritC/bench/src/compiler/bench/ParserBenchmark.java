@@ -0,0 +1,164 @@
+package compiler.bench;
+
+import compiler.Lexer;
+import compiler.Syntax;
+import compiler.Token;
+import compiler.ast.ASTClass;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many lines per second Parser.parseFile parses from the corpus. Includes lexing.
+ *
+ * Also measures how many tokens per second the kind of line they would start is decided for, once by comparing
+ * strings the way the parser used to and once by switching on the kind of the token, the way it does now.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark
+{
+	private byte[] source;
+
+	/**
+	 * Counts the lines, so that JMH reports them per second next to the corpora per second.
+	 */
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Lines
+	{
+		public long lines;
+	}
+
+	/**
+	 * Counts the tokens that a kind of line was decided for.
+	 */
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Tokens
+	{
+		public long tokens;
+	}
+
+	/**
+	 * The tokens of the corpus, lexed once.
+	 */
+	@State(Scope.Benchmark)
+	public static class Lexed
+	{
+		ArrayList<Token> tokens;
+
+		@Setup
+		public void setup()
+		{
+			tokens = new ArrayList<>();
+			Lexer lexer = new Lexer(Corpus.source(), Corpus.FILE_NAME);
+			Token token;
+			do
+			{
+				token = lexer.getToken();
+				tokens.add(token);
+			} while (token.tokenType != Token.TokenType.EOF);
+		}
+	}
+
+	@Setup
+	public void setup()
+	{
+		source = Corpus.source();
+	}
+
+	@Benchmark
+	public ASTClass parse(Lines counter)
+	{
+		ASTClass astClass = Corpus.parse(source);
+		counter.lines += Corpus.LINES;
+		return astClass;
+	}
+
+	/**
+	 * Decides the kind of line like the parser used to, by probing the token with one string comparison after another.
+	 */
+	@Benchmark
+	public int dispatchByString(Lexed lexed, Tokens counter)
+	{
+		int lines = 0;
+		for (Token token : lexed.tokens)
+		{
+			String value = token.value;
+			if (value.equals(Syntax.Keyword.EXTENDS))
+				lines += 1;
+			else if (value.equals(Syntax.Keyword.CLASS_GENERICS))
+				lines += 2;
+			else if (value.equals(Syntax.Keyword.IF))
+				lines += 3;
+			else if (value.equals(Syntax.Keyword.ELSE))
+				lines += 4;
+			else if (value.equals(Syntax.Keyword.LOOP))
+				lines += 5;
+			else if (value.equals(Syntax.Keyword.TYPE))
+				lines += 6;
+			else if (value.equals(Syntax.Keyword.IMPORT) || value.equals(Syntax.Keyword.FROM))
+				lines += 7;
+			else if (value.equals(Syntax.Op.RETURN))
+				lines += 8;
+			else if (value.equals("" + Syntax.Op.GENERIC_START))
+				lines += 9;
+		}
+		counter.tokens += lexed.tokens.size();
+		return lines;
+	}
+
+	/**
+	 * Decides the kind of line like the parser does now, with a switch on the kind of the token.
+	 */
+	@Benchmark
+	public int dispatchByKind(Lexed lexed, Tokens counter)
+	{
+		int lines = 0;
+		for (Token token : lexed.tokens)
+		{
+			switch (token.kind)
+			{
+				case EXTENDS:
+					lines += 1;
+					break;
+				case CLASS_GENERICS:
+					lines += 2;
+					break;
+				case IF:
+					lines += 3;
+					break;
+				case ELSE:
+					lines += 4;
+					break;
+				case LOOP:
+					lines += 5;
+					break;
+				case TYPE:
+					lines += 6;
+					break;
+				case IMPORT:
+				case FROM:
+					lines += 7;
+					break;
+				case ASSIGN:
+					lines += 8;
+					break;
+				case GENERIC_START:
+					lines += 9;
+					break;
+			}
+		}
+		counter.tokens += lexed.tokens.size();
+		return lines;
+	}
+}
@@ -0,0 +1,460 @@
+package compiler.bench;
+
+import compiler.Main;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * Writes synthetic Spirit projects of any size, so that the whole compiler can be measured on more than the examples.
+ *
+ * Usage:
+ * <pre>
+ * java -cp bench/target/benchmarks.jar compiler.bench.ProjectGenerator [options]
+ * </pre>
+ *
+ * One project is written for every size given to --classes, each into its own directory of a new temporary
+ * directory, or of --out. With --run every project is then compiled by Main with --timings in a JVM of its own,
+ * and the time of every build is listed at the end, so the scaling of every phase can be read off the reports.
+ *
+ * The projects are only made of things that the compiler accepts, and the same settings and seed always give the
+ * same project.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+public class ProjectGenerator
+{
+	/**
+	 * The shape of a generated project.
+	 */
+	public static class Settings
+	{
+		/**
+		 * How many classes the project has.
+		 */
+		public int classes = 100;
+
+		/**
+		 * How many other classes each class imports.
+		 */
+		public int fanOut = 3;
+
+		/**
+		 * How many classes import each imported class, on average. Only the first classes * fanOut / fanIn classes
+		 * are imported, so a high fan-in gives a few classes that almost everything depends on.
+		 */
+		public int fanIn = 8;
+
+		/**
+		 * How long the chains of extending classes are. 0 means that no class extends another one.
+		 */
+		public int extendsDepth = 3;
+
+		/**
+		 * How many functions each class declares.
+		 */
+		public int functions = 4;
+
+		/**
+		 * How many overloads each function has. The overloads take one parameter more than the one before.
+		 */
+		public int overloads = 2;
+
+		/**
+		 * How deeply the arithmetic expressions nest.
+		 */
+		public int expressionDepth = 3;
+
+		/**
+		 * The share of function bodies that are #inline blocks, between 0 and 1.
+		 */
+		public double inlineDensity = 0.1;
+
+		public long seed = 17;
+	}
+
+	private static final String[] OPERATORS = {"+", "-", "*"};
+
+	private final Settings settings;
+	private final Random random;
+
+	/**
+	 * The lines of the class that is being generated.
+	 */
+	private final List<String> lines = new ArrayList<>();
+
+	public ProjectGenerator(Settings settings)
+	{
+		this.settings = settings;
+		this.random = new Random(settings.seed);
+	}
+
+	/**
+	 * Writes the project.
+	 * @param dir Where to write the project. Created if it doesn't exist.
+	 * @return The file names of the classes, in the order that they should be given to the compiler.
+	 */
+	public List<String> generate(File dir) throws IOException
+	{
+		Files.createDirectories(dir.toPath());
+
+		// Main always imports Object from the package path. //
+		Files.write(new File(dir, "Object" + Main.FILE_EXTENSION).toPath(),
+				Collections.singletonList("new : ()"), StandardCharsets.UTF_8);
+
+		List<String> fileNames = new ArrayList<>();
+		int lineCount = 0;
+		for (int i = 0; i < settings.classes; i++)
+		{
+			generateClass(i);
+			String fileName = className(i) + Main.FILE_EXTENSION;
+			Files.write(new File(dir, fileName).toPath(), lines, StandardCharsets.UTF_8);
+			fileNames.add(fileName);
+			lineCount += lines.size();
+		}
+
+		System.out.println("Wrote " + settings.classes + " classes, " + lineCount + " lines, to " + dir);
+		return fileNames;
+	}
+
+	private void generateClass(int index)
+	{
+		lines.clear();
+		lines.add("% Generated by ProjectGenerator, class " + index + " of " + settings.classes + ".");
+
+		// Classes are built in chains of extendsDepth subclasses. //
+		int parent = settings.extendsDepth > 0 && index % (settings.extendsDepth + 1) != 0 ? index - 1 : -1;
+
+		List<Integer> imports = pickImports(index);
+		if (parent >= 0 && !imports.contains(parent))
+			imports.add(0, parent);
+
+		for (int imported : imports)
+			lines.add("import " + className(imported));
+
+		// The parent must have been imported before it can be extended. //
+		if (parent >= 0)
+			lines.add("extends " + className(parent));
+
+		lines.add("");
+		lines.add(variableName(index) + " := " + random.nextInt(100));
+		lines.add("");
+
+		int body = 0;
+		for (int function = 0; function < settings.functions; function++)
+		{
+			for (int arity = 1; arity <= settings.overloads; arity++)
+			{
+				// Every import is used by some body, one after another. //
+				int imported = imports.isEmpty() ? -1 : imports.get(body++ % imports.size());
+				generateFunction(index, function, arity, imported);
+				lines.add("");
+			}
+		}
+	}
+
+	/**
+	 * Picks the classes that a class imports. Classes only import classes before them, so there are no cycles.
+	 * @param index The class that imports.
+	 * @return The imported classes.
+	 */
+	private List<Integer> pickImports(int index)
+	{
+		long popular = Math.max(1, (long) settings.classes * settings.fanOut / Math.max(1, settings.fanIn));
+		int candidates = (int) Math.min(index, popular);
+
+		List<Integer> imports = new ArrayList<>();
+		if (candidates <= settings.fanOut)
+		{
+			for (int i = 0; i < candidates; i++)
+				imports.add(i);
+			return imports;
+		}
+
+		Set<Integer> picked = new LinkedHashSet<>();
+		while (picked.size() < settings.fanOut)
+			picked.add(random.nextInt(candidates));
+		imports.addAll(picked);
+		return imports;
+	}
+
+	/**
+	 * Generates one overload of a function.
+	 * @param index The class.
+	 * @param function The function.
+	 * @param arity How many parameters the overload takes.
+	 * @param imported An imported class that the body uses, or -1 if the class has no imports.
+	 */
+	private void generateFunction(int index, int function, int arity, int imported)
+	{
+		StringBuilder parameters = new StringBuilder();
+		for (int i = 0; i < arity; i++)
+		{
+			if (i > 0)
+				parameters.append(", ");
+			parameters.append("a").append(i).append(" : int");
+		}
+
+		String head = functionName(index, function) + " : (" + parameters + ") int";
+
+		if (random.nextDouble() < settings.inlineDensity)
+		{
+			lines.add(head);
+			lines.add("\t#inline");
+			lines.add("\treturn a0 * " + random.nextInt(10) + " + " + variableName(index) + ";");
+			lines.add("\t#end");
+			return;
+		}
+
+		if (imported < 0)
+		{
+			lines.add(head + " = " + expression(index, arity, settings.expressionDepth));
+			return;
+		}
+
+		lines.add(head);
+		lines.add("\tt := " + expression(index, arity, settings.expressionDepth));
+		lines.add("\tif t > " + random.nextInt(100));
+		lines.add("\t\tother := " + className(imported) + ".new");
+		lines.add("\t\tother." + call(imported, settings.functions, "t"));
+
+		// Functions can't be called before they are declared, so the first one has nothing to call. //
+		if (function > 0)
+		{
+			lines.add("\telse");
+			lines.add("\t\t" + call(index, function, "a0"));
+		}
+		lines.add("\t= t + a0");
+	}
+
+	/**
+	 * @param index The class whose function is called.
+	 * @param functions How many of the functions of the class may be called, starting with the first one.
+	 * @param argument What every argument is.
+	 * @return A call of any of the functions, with any of its overloads.
+	 */
+	private String call(int index, int functions, String argument)
+	{
+		StringBuilder call = new StringBuilder(functionName(index, random.nextInt(functions)));
+		int arity = 1 + random.nextInt(settings.overloads);
+		for (int i = 0; i < arity; i++)
+			call.append(' ').append(argument);
+		return call.toString();
+	}
+
+	/**
+	 * @param index The class that the expression is in.
+	 * @param arity How many parameters the function has.
+	 * @param depth How deeply the expression nests.
+	 * @return An expression of parameters, the variable of the class and numbers, that nests depth times.
+	 */
+	private String expression(int index, int arity, int depth)
+	{
+		if (depth <= 0)
+		{
+			switch (random.nextInt(3))
+			{
+				case 0:
+					return "a" + random.nextInt(arity);
+				case 1:
+					return variableName(index);
+				default:
+					return Integer.toString(1 + random.nextInt(9));
+			}
+		}
+
+		// Only one side nests, so the expression grows with the depth and not exponentially. //
+		String inner = expression(index, arity, depth - 1);
+		String leaf = expression(index, arity, 0);
+		String operator = OPERATORS[random.nextInt(OPERATORS.length)];
+		return random.nextBoolean()
+				? "(" + inner + " " + operator + " " + leaf + ")"
+				: "(" + leaf + " " + operator + " " + inner + ")";
+	}
+
+	/*
+	 * The names include the class, so that no name is shadowed by an import or a parent.
+	 */
+
+	private static String className(int index)
+	{
+		return "C" + index;
+	}
+
+	private static String variableName(int index)
+	{
+		return "c" + index + "v";
+	}
+
+	private static String functionName(int index, int function)
+	{
+		return "c" + index + "f" + function;
+	}
+
+	/**
+	 * Compiles a generated project in a JVM of its own, just like a build from the command line.
+	 * @param dir The project.
+	 * @param fileNames The classes of the project.
+	 * @param jobs How many jobs the compiler uses, or 0 for its default.
+	 * @param lowMemory Whether the compiler only keeps the signatures of the classes that it has compiled.
+	 * @return How long the build took, in milliseconds. Or -1 if it failed.
+	 */
+	private static long compile(File dir, List<String> fileNames, int jobs, boolean lowMemory)
+			throws IOException, InterruptedException
+	{
+		List<String> command = new ArrayList<>();
+		command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+		command.add("-cp");
+		command.add(absoluteClassPath());
+		command.add(Main.class.getName());
+		command.add("--timings");
+		if (jobs > 0)
+		{
+			command.add("--jobs");
+			command.add(Integer.toString(jobs));
+		}
+		if (lowMemory)
+			command.add("--low-memory");
+		command.addAll(fileNames);
+
+		ProcessBuilder builder = new ProcessBuilder(command).directory(dir);
+		builder.environment().put(Main.ENV_PKG_PATH, "./");
+
+		// Without --dump-ast only the syntax errors go to stdout, so they are shown along with everything else. //
+		builder.redirectOutput(ProcessBuilder.Redirect.INHERIT);
+		builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+
+		long start = System.nanoTime();
+		int exitCode = builder.start().waitFor();
+		long elapsed = (System.nanoTime() - start) / 1_000_000;
+		return exitCode == 0 ? elapsed : -1;
+	}
+
+	/**
+	 * @return The class path of this JVM, which also holds the compiler, usable from any directory.
+	 */
+	private static String absoluteClassPath()
+	{
+		StringBuilder classPath = new StringBuilder();
+		for (String entry : System.getProperty("java.class.path").split(File.pathSeparator))
+		{
+			if (classPath.length() > 0)
+				classPath.append(File.pathSeparator);
+			classPath.append(new File(entry).getAbsolutePath());
+		}
+		return classPath.toString();
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException
+	{
+		Settings settings = new Settings();
+		List<Integer> sizes = Arrays.asList(10, 100, 1000, 10000);
+		File out = null;
+		boolean run = false;
+		int jobs = 0;
+		boolean lowMemory = false;
+
+		for (int i = 0; i < args.length; i++)
+		{
+			switch (args[i])
+			{
+				case "--classes":
+					sizes = new ArrayList<>();
+					for (String size : args[++i].split(","))
+						sizes.add(Integer.parseInt(size.trim()));
+					break;
+				case "--fan-out":
+					settings.fanOut = Integer.parseInt(args[++i]);
+					break;
+				case "--fan-in":
+					settings.fanIn = Integer.parseInt(args[++i]);
+					break;
+				case "--extends-depth":
+					settings.extendsDepth = Integer.parseInt(args[++i]);
+					break;
+				case "--functions":
+					settings.functions = Math.max(1, Integer.parseInt(args[++i]));
+					break;
+				case "--overloads":
+					settings.overloads = Math.max(1, Integer.parseInt(args[++i]));
+					break;
+				case "--expression-depth":
+					settings.expressionDepth = Integer.parseInt(args[++i]);
+					break;
+				case "--inline-density":
+					settings.inlineDensity = Double.parseDouble(args[++i]);
+					break;
+				case "--seed":
+					settings.seed = Long.parseLong(args[++i]);
+					break;
+				case "-o":
+				case "--out":
+					out = new File(args[++i]);
+					break;
+				case "--run":
+					run = true;
+					break;
+				case "-j":
+				case "--jobs":
+					jobs = Integer.parseInt(args[++i]);
+					break;
+				case "--low-memory":
+					lowMemory = true;
+					break;
+				default:
+					System.err.println("Unknown option: " + args[i]);
+					printHelp();
+					System.exit(1);
+			}
+		}
+
+		if (out == null)
+			out = Files.createTempDirectory("spirit-projects").toFile();
+
+		Map<Integer, Long> buildTimes = new LinkedHashMap<>();
+		for (int size : sizes)
+		{
+			settings.classes = size;
+			File dir = new File(out, "classes-" + size);
+			List<String> fileNames = new ProjectGenerator(settings).generate(dir);
+
+			if (run)
+			{
+				long elapsed = compile(dir, fileNames, jobs, lowMemory);
+				System.out.println(elapsed < 0 ? "The build failed." : "Built in " + elapsed + " ms");
+				buildTimes.put(size, elapsed);
+			}
+		}
+
+		if (run)
+		{
+			System.out.println();
+			System.out.printf("%10s %12s%n", "Classes", "Build (ms)");
+			for (Map.Entry<Integer, Long> buildTime : buildTimes.entrySet())
+				System.out.printf("%10d %12s%n", buildTime.getKey(),
+						buildTime.getValue() < 0 ? "failed" : buildTime.getValue().toString());
+		}
+	}
+
+	private static void printHelp()
+	{
+		System.out.println("Options:");
+		System.out.println("\t--classes\t\tThe sizes of the projects, e.g 10,100,1000,10000.");
+		System.out.println("\t--fan-out\t\tHow many classes each class imports.");
+		System.out.println("\t--fan-in\t\tHow many classes import each imported class, on average.");
+		System.out.println("\t--extends-depth\t\tHow long the chains of extending classes are.");
+		System.out.println("\t--functions\t\tHow many functions each class declares.");
+		System.out.println("\t--overloads\t\tHow many overloads each function has.");
+		System.out.println("\t--expression-depth\tHow deeply the expressions nest.");
+		System.out.println("\t--inline-density\tThe share of function bodies that are #inline, between 0 and 1.");
+		System.out.println("\t--seed\t\t\tThe seed of the generator.");
+		System.out.println("\t-o / --out\t\tWhere to write the projects. A new temporary directory by default.");
+		System.out.println("\t--run\t\t\tCompile each project with --timings after writing it.");
+		System.out.println("\t-j / --jobs\t\tHow many jobs the compiler uses with --run.");
+		System.out.println("\t--low-memory\t\tCompile with --low-memory with --run.");
+	}
+}
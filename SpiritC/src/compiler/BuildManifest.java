@@ -0,0 +1,216 @@
+package compiler;
+
+import compiler.lib.OutputWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Remembers what every class looked like the last time it was compiled.
+ *
+ * For each source file the manifest stores a hash of its content, a hash of its exported interface
+ * (the .sym output) and the interface hashes of the classes it imported. A class only has to be
+ * recompiled when its own content changed or when the interface of something it imports changed.
+ * The whole manifest is thrown away when it was written by another compiler version.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+public class BuildManifest
+{
+	/**
+	 * What we know about one source file.
+	 */
+	public static class Entry
+	{
+		/** The hash of the source file. */
+		public String sourceHash;
+
+		/** The hash of the .sym file that the source compiled into. */
+		public String interfaceHash;
+
+		/** The imported files mapped to the interface hash they had when this file was compiled. */
+		public Map<String, String> dependencies = new LinkedHashMap<>();
+	}
+
+	/**
+	 * Recorded instead of the interface hash of a dependency that had none when the file was compiled,
+	 * e.g because it couldn't be found or because it was still being compiled in an import cycle.
+	 */
+	public static final String MISSING = "none";
+
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	/**
+	 * The file that the manifest is read from and saved to.
+	 */
+	private File file;
+
+	/**
+	 * Entries by the path of their source file.
+	 * Sorted, so that the saved manifest doesn't depend on the order things were compiled in.
+	 */
+	private Map<String, Entry> entries = new TreeMap<>();
+
+	public BuildManifest(File file)
+	{
+		this.file = file;
+	}
+
+	/**
+	 * Loads the manifest from disk. A missing, corrupted or outdated manifest leaves this manifest empty.
+	 * @return This manifest.
+	 */
+	public synchronized BuildManifest load()
+	{
+		entries.clear();
+		if (!file.exists())
+			return this;
+
+		List<String> lines;
+		try
+		{
+			lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+		}
+		catch (IOException e)
+		{
+			return this;
+		}
+
+		// Output from another compiler version can't be trusted. //
+		if (lines.isEmpty() || !lines.get(0).equals("CompilerVersion: " + Main.VERSION))
+			return this;
+
+		Entry current = null;
+		for (String line : lines.subList(1, lines.size()))
+		{
+			int separator = line.indexOf(": ");
+			if (separator < 0)
+				continue;
+
+			String key = line.substring(0, separator);
+			String value = line.substring(separator + 2);
+			switch (key)
+			{
+				case "File":
+					current = new Entry();
+					entries.put(value, current);
+					break;
+				case "Source":
+					if (current != null)
+						current.sourceHash = value;
+					break;
+				case "Interface":
+					if (current != null)
+						current.interfaceHash = value;
+					break;
+				case "Dependency":
+				{
+					// The hash never contains a space, so the path is everything before the last one. //
+					int split = value.lastIndexOf(' ');
+					if (current != null && split > 0)
+						current.dependencies.put(value.substring(0, split), value.substring(split + 1));
+					break;
+				}
+				default:
+					// Corrupted. Start from scratch. //
+					entries.clear();
+					return this;
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Writes the manifest to disk. The old manifest is replaced in one step.
+	 * @throws IOException If the manifest could not be written.
+	 */
+	public synchronized void save() throws IOException
+	{
+		StringBuilder out = new StringBuilder();
+		out.append("CompilerVersion: ").append(Main.VERSION).append('\n');
+		for (Map.Entry<String, Entry> pair : entries.entrySet())
+		{
+			Entry entry = pair.getValue();
+			out.append('\n');
+			out.append("File: ").append(pair.getKey()).append('\n');
+			out.append("Source: ").append(entry.sourceHash).append('\n');
+			if (entry.interfaceHash != null)
+				out.append("Interface: ").append(entry.interfaceHash).append('\n');
+			for (Map.Entry<String, String> dependency : entry.dependencies.entrySet())
+			{
+				out.append("Dependency: ").append(dependency.getKey()).append(' ').append(dependency.getValue()).append('\n');
+			}
+		}
+
+		OutputWriter.writeNow(file, ByteBuffer.wrap(out.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * @param sourceFile The path of a source file.
+	 * @return What we know about the file. Null if it has never been compiled.
+	 */
+	public synchronized Entry get(String sourceFile)
+	{
+		return entries.get(sourceFile);
+	}
+
+	/**
+	 * Stores what a file looked like when it was compiled.
+	 * @param sourceFile The path of the source file.
+	 * @param entry What the file looked like.
+	 */
+	public synchronized void put(String sourceFile, Entry entry)
+	{
+		entries.put(sourceFile, entry);
+	}
+
+	/**
+	 * Hashes the content of a file.
+	 * @param file The file to hash.
+	 * @return The hash as hex. Null if the file could not be read.
+	 */
+	public static String hashFile(File file)
+	{
+		try
+		{
+			return hash(Files.readAllBytes(file.toPath()));
+		}
+		catch (IOException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * @param content The bytes to hash.
+	 * @return The hash as hex.
+	 */
+	public static String hash(byte[] content)
+	{
+		MessageDigest digest;
+		try
+		{
+			digest = MessageDigest.getInstance(HASH_ALGORITHM);
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			// Every Java platform is required to support SHA-256. //
+			throw new IllegalStateException(e);
+		}
+
+		StringBuilder hex = new StringBuilder();
+		for (byte b : digest.digest(content))
+		{
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+			hex.append(Character.forDigit(b & 0xF, 16));
+		}
+		return hex.toString();
+	}
+}
@@ -0,0 +1,324 @@
+package compiler;
+
+import compiler.ast.ASTClass;
+import compiler.lib.PathFind;
+import compiler.lib.PhaseTimer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Compiles several files at once on a pool of worker threads.
+ *
+ * Before anything is parsed, the import lines of every file are scanned to build the class dependency graph.
+ * A class is only handed to a worker once all of its dependencies are compiled, so their symbols are ready
+ * when the class imports them. Classes that are part of an import cycle are compiled on the calling thread
+ * at the end, exactly like a sequential build would compile them.
+ *
+ * How a class is found and compiled can be replaced through {@link #locate(String)} and {@link #compile(String)}.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+public class BuildScheduler
+{
+	/**
+	 * A class in the dependency graph.
+	 */
+	private class Node
+	{
+		/** The name used to import the class. */
+		String fileName;
+
+		/** Classes that this class imports. */
+		List<Node> dependencies = new ArrayList<>();
+
+		/** Classes that import this class. */
+		List<Node> dependents = new ArrayList<>();
+
+		/** How many dependencies that have not been compiled yet. */
+		int waitingFor;
+
+		Node(String fileName)
+		{
+			this.fileName = fileName;
+		}
+	}
+
+	/**
+	 * Where all the compiled classes are placed.
+	 */
+	private ASTClass root;
+
+	/**
+	 * How many worker threads to use.
+	 */
+	private int jobs;
+
+	/**
+	 * All nodes by their resolved file name. Ordered by discovery.
+	 */
+	private Map<String, Node> nodes = new LinkedHashMap<>();
+
+	private ExecutorService workers;
+	private CountDownLatch remaining;
+
+	/**
+	 * Set once a class could not be compiled.
+	 */
+	private volatile boolean failed = false;
+
+	public BuildScheduler(ASTClass root, int jobs)
+	{
+		this.root = root;
+		this.jobs = jobs;
+	}
+
+	/**
+	 * Compiles all files and everything they import.
+	 * @param fileNames The files to compile.
+	 * @return False if a class could not be compiled.
+	 */
+	public boolean build(List<String> fileNames)
+	{
+		for (String fileName : fileNames)
+		{
+			discover(fileName);
+		}
+
+		List<Node> scheduled = topologicalOrder();
+
+		workers = Executors.newFixedThreadPool(jobs, runnable -> {
+			Thread thread = new Thread(runnable, "spirit-worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		remaining = new CountDownLatch(scheduled.size());
+
+		// Start with the classes that don't depend on anything.                           //
+		// They are picked before submitting, since the workers lower waitingFor as they go. //
+		List<Node> initial = new ArrayList<>();
+		for (Node node : scheduled)
+		{
+			if (node.waitingFor == 0)
+				initial.add(node);
+		}
+		for (Node node : initial)
+		{
+			submit(node);
+		}
+
+		try
+		{
+			remaining.await();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		workers.shutdown();
+
+		// Import cycles can't be ordered, so the recursive import takes care of them. //
+		Set<Node> compiled = new HashSet<>(scheduled);
+		for (Node node : nodes.values())
+		{
+			if (!compiled.contains(node))
+				compile(node.fileName);
+		}
+		return !failed;
+	}
+
+	/**
+	 * Adds a file and everything it imports to the graph.
+	 * @param fileName The file to add.
+	 * @return The node of the file.
+	 */
+	private Node discover(String fileName)
+	{
+		String realFileName = locate(fileName);
+
+		// Let the importer report files that don't exist. //
+		String key = realFileName != null ? realFileName : fileName;
+
+		Node node = nodes.get(key);
+		if (node != null)
+			return node;
+
+		node = new Node(fileName);
+		nodes.put(key, node);
+
+		if (realFileName != null)
+		{
+			List<String> imports;
+			PhaseTimer.start(PhaseTimer.Phase.SCAN, FileCompiler.getClassName(fileName));
+			try
+			{
+				imports = scanImports(realFileName);
+			}
+			finally
+			{
+				PhaseTimer.stop();
+			}
+
+			for (String dependency : imports)
+			{
+				Node dependencyNode = discover(dependency + Main.FILE_EXTENSION);
+				if (dependencyNode != node && !node.dependencies.contains(dependencyNode))
+				{
+					node.dependencies.add(dependencyNode);
+					dependencyNode.dependents.add(node);
+				}
+			}
+		}
+		return node;
+	}
+
+	/**
+	 * Finds the packages a file imports without parsing it.
+	 * Only "import" and "from" at the start of lines are looked at.
+	 * @param realFileName The path to the file.
+	 * @return The imported packages. Includes the implicit import of Object.
+	 */
+	public static List<String> scanImports(String realFileName)
+	{
+		List<String> imports = new ArrayList<>();
+		String className = FileCompiler.getClassName(realFileName);
+
+		// Every class imports Object. See ASTClass. //
+		if (!className.equals(Syntax.ReservedNames.OBJECT_CLASS))
+			imports.add(Syntax.ReservedNames.OBJECT_CLASS);
+
+		Lexer lexer;
+		try
+		{
+			lexer = new Lexer(Files.readAllBytes(Paths.get(realFileName)), realFileName);
+		}
+		catch (IOException e)
+		{
+			return imports;
+		}
+
+		boolean lineStart = true;
+		Token token = lexer.getToken();
+		while (token != null && token.tokenType != Token.TokenType.EOF)
+		{
+			if (lineStart
+					&& (token.value.equals(Syntax.Keyword.IMPORT) || token.value.equals(Syntax.Keyword.FROM)))
+			{
+				StringBuilder path = new StringBuilder();
+				token = lexer.getToken();
+				while (token != null && token.tokenType == Token.TokenType.SYMBOL)
+				{
+					path.append(token.value);
+					token = lexer.getToken();
+					if (token == null || !token.value.equals(Syntax.Op.ACCESS))
+						break;
+					path.append(Syntax.Op.ACCESS);
+					token = lexer.getToken();
+				}
+
+				if (path.length() > 0)
+					imports.add(path.toString());
+				lineStart = false;
+				continue;
+			}
+
+			lineStart = token.tokenType == Token.TokenType.NEWLINE || token.tokenType == Token.TokenType.INDENT;
+			token = lexer.getToken();
+		}
+
+		return imports;
+	}
+
+	/**
+	 * Finds the file of a class.
+	 * @param fileName The name used to import the class.
+	 * @return The path to the file. Null if it doesn't exist.
+	 */
+	protected String locate(String fileName)
+	{
+		return PathFind.findInPath(Main.getPath(), fileName);
+	}
+
+	/**
+	 * Compiles a class into the root. Called on a worker, or on the calling thread for import cycles.
+	 * @param fileName The name used to import the class.
+	 */
+	protected void compile(String fileName)
+	{
+		FileCompiler.importFile(fileName, root);
+	}
+
+	/**
+	 * Orders the graph so that dependencies come before the classes that import them.
+	 * Also counts how many dependencies each node waits for.
+	 * @return The nodes that can be scheduled. Nodes in (or behind) an import cycle are left out.
+	 */
+	private List<Node> topologicalOrder()
+	{
+		List<Node> ordered = new ArrayList<>();
+		Deque<Node> ready = new ArrayDeque<>();
+
+		for (Node node : nodes.values())
+		{
+			node.waitingFor = node.dependencies.size();
+			if (node.waitingFor == 0)
+				ready.add(node);
+		}
+
+		Map<Node, Integer> left = new HashMap<>();
+		while (!ready.isEmpty())
+		{
+			Node node = ready.poll();
+			ordered.add(node);
+			for (Node dependent : node.dependents)
+			{
+				int count = left.getOrDefault(dependent, dependent.waitingFor) - 1;
+				left.put(dependent, count);
+				if (count == 0)
+					ready.add(dependent);
+			}
+		}
+
+		return ordered;
+	}
+
+	/**
+	 * Compiles a node on a worker. Once done the dependents that no longer wait for anything are submitted.
+	 * @param node The node to compile.
+	 */
+	private void submit(Node node)
+	{
+		workers.execute(() -> {
+			try
+			{
+				compile(node.fileName);
+			}
+			catch (Throwable e)
+			{
+				// Errors too, or nobody would hear of them. The dependents are still released below. //
+				failed = true;
+				System.err.println("ERROR: Failed to compile " + node.fileName + ": " + e);
+			}
+			finally
+			{
+				for (Node dependent : node.dependents)
+				{
+					boolean isReady;
+					synchronized (this)
+					{
+						isReady = --dependent.waitingFor == 0;
+					}
+					if (isReady)
+						submit(dependent);
+				}
+				remaining.countDown();
+			}
+		});
+	}
+}
@@ -0,0 +1,240 @@
+package compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds whenever a source file in the package path changes.
+ *
+ * The events of the file system are collected until nothing has happened for a moment, so that saving many files
+ * at once only causes one rebuild. The rebuild is an ordinary incremental build: the build manifest makes sure that
+ * only the changed classes, and the classes whose imported interfaces changed, are compiled and written again.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+public class BuildWatcher
+{
+	/**
+	 * How long the file system has to be quiet before a rebuild starts.
+	 */
+	private static final long DEBOUNCE_MILLIS = 100;
+
+	/**
+	 * The arguments of every build.
+	 */
+	private final List<String> args;
+
+	public BuildWatcher(List<String> args)
+	{
+		this.args = args;
+	}
+
+	/**
+	 * Builds once, then rebuilds after every change until the compiler is stopped.
+	 */
+	public void watch()
+	{
+		ErrorPrint.exitOnError = false;
+		FileCompiler.keepSymbols = true;
+
+		WatchService watchService;
+		try
+		{
+			watchService = FileSystems.getDefault().newWatchService();
+			registerPath(watchService);
+		}
+		catch (IOException e)
+		{
+			System.err.println("ERROR: Could not watch the package path: " + e);
+			return;
+		}
+
+		rebuild(Collections.emptySet());
+
+		try
+		{
+			while (true)
+			{
+				Set<String> changed = new TreeSet<>();
+				collectChanges(watchService, watchService.take(), changed);
+
+				// Wait for the burst of changes to end. //
+				WatchKey key;
+				while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null)
+				{
+					collectChanges(watchService, key, changed);
+				}
+
+				if (!changed.isEmpty())
+					rebuild(changed);
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch (ClosedWatchServiceException e)
+		{
+			// Nothing more to watch. //
+		}
+	}
+
+	/**
+	 * The keys of the directories that are being watched, by the real path of the directory.
+	 */
+	private final Map<Path, WatchKey> registered = new HashMap<>();
+
+	/**
+	 * Directories that hold what the build writes, by their absolute path. Never watched, since every build
+	 * writes them.
+	 */
+	private final Set<Path> outputs = new HashSet<>();
+
+	/**
+	 * Watches every directory in the package path, and every directory below them.
+	 * Imports like <code>import a.b</code> are found in sub directories.
+	 */
+	private void registerPath(WatchService watchService) throws IOException
+	{
+		// Symbol files and the manifest always go to out/, the backend output to where -o says. //
+		List<File> outputDirectories = new ArrayList<>();
+		outputDirectories.add(new File("out"));
+		for (int i = 0; i + 1 < args.size(); i++)
+		{
+			if (args.get(i).equals("-o") || args.get(i).equals("--output"))
+				outputDirectories.add(new File(args.get(i + 1)));
+		}
+		for (File directory : outputDirectories)
+		{
+			outputs.add(directory.toPath().toAbsolutePath().normalize());
+		}
+
+		for (String location : Main.getPath().split(":"))
+		{
+			File directory = new File(location);
+			if (directory.isDirectory())
+				registerTree(watchService, directory.toPath(), null);
+		}
+	}
+
+	/**
+	 * Watches a directory and every directory below it.
+	 * @param watchService The service to register the directories with.
+	 * @param start The directory.
+	 * @param sources Where to add the names of the source files in them. Null to not look for sources.
+	 */
+	private void registerTree(WatchService watchService, Path start, Set<String> sources) throws IOException
+	{
+		Files.walkFileTree(start, new SimpleFileVisitor<Path>()
+		{
+			@Override
+			public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException
+			{
+				// The locations of the package path may be inside of each other. //
+				Path realPath = directory.toRealPath();
+				if (registered.containsKey(realPath) || outputs.contains(realPath)
+						|| outputs.contains(directory.toAbsolutePath().normalize()))
+					return FileVisitResult.SKIP_SUBTREE;
+
+				// The package path itself may be hidden, e.g ./ //
+				if (!directory.equals(start) && isHidden(directory))
+					return FileVisitResult.SKIP_SUBTREE;
+
+				registered.put(realPath, directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE));
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attributes)
+			{
+				String fileName = file.getFileName().toString();
+				if (sources != null && fileName.endsWith(Main.FILE_EXTENSION))
+					sources.add(fileName);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(Path file, IOException e)
+			{
+				// A directory we may not read can't contain any of our sources. //
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	/**
+	 * Adds the source files that an event key reports as changed, and watches the directories that were created.
+	 * @param watchService The service that the key belongs to.
+	 * @param key The key to take the events from. It is reset afterwards.
+	 * @param changed Where to add the names of the changed files.
+	 */
+	private void collectChanges(WatchService watchService, WatchKey key, Set<String> changed)
+	{
+		Path directory = (Path) key.watchable();
+		for (WatchEvent<?> event : key.pollEvents())
+		{
+			// Too many events, we can't tell which files changed. The build will find out. //
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+			{
+				changed.add("(lost events)");
+				continue;
+			}
+
+			Path file = directory.resolve((Path) event.context());
+			if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(file))
+			{
+				if (isHidden(file))
+					continue;
+
+				try
+				{
+					// Sources may have been put in it before we got to watch it. //
+					registerTree(watchService, file, changed);
+				}
+				catch (IOException e)
+				{
+					System.err.println("ERROR: Could not watch " + file + ": " + e);
+				}
+				continue;
+			}
+
+			// Only sources matter. The outputs of the build itself are ignored. //
+			String fileName = event.context().toString();
+			if (fileName.endsWith(Main.FILE_EXTENSION))
+				changed.add(fileName);
+		}
+
+		// The directory is gone. Watch it again if it comes back. //
+		if (!key.reset())
+			registered.values().remove(key);
+	}
+
+	/**
+	 * Hidden directories, like .git, don't hold sources.
+	 * @param directory A directory.
+	 * @return True if the name of the directory starts with a dot.
+	 */
+	private static boolean isHidden(Path directory)
+	{
+		Path name = directory.getFileName();
+		return name != null && name.toString().startsWith(".");
+	}
+
+	private void rebuild(Set<String> changed)
+	{
+		if (!changed.isEmpty())
+			System.err.println("Changed: " + String.join(", ", changed));
+
+		long start = System.nanoTime();
+		int exitCode = CompileServer.build(args);
+		long millis = (System.nanoTime() - start) / 1000000;
+
+		System.err.println((exitCode == 0 ? "Rebuilt" : "Build failed") + " in " + millis + " ms. Watching for changes...");
+	}
+}
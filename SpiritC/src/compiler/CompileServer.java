@@ -0,0 +1,108 @@
+package compiler;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the compiler running between builds, so that the JVM is warm and the symbol cache is filled.
+ *
+ * The server reads one request per line. A request is the arguments of a build, just like on the command line,
+ * e.g <code>-j 4 Foo.spirit Bar.spirit</code>. When the build is done the server prints
+ * <code>DONE_MARKER exitCode milliseconds</code> on a line of its own. The server stops at the end of the input
+ * or when it reads <code>quit</code>.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+public class CompileServer
+{
+	/**
+	 * Printed after every build. Everything the build printed comes before it.
+	 */
+	public static final String DONE_MARKER = "%%SPIRIT-DONE%%";
+
+	public static final String QUIT = "quit";
+
+	/**
+	 * Arguments that are put in front of the arguments of every request.
+	 */
+	private final List<String> defaultArgs;
+
+	public CompileServer(List<String> defaultArgs)
+	{
+		this.defaultArgs = defaultArgs;
+	}
+
+	/**
+	 * Runs builds until there are no more requests.
+	 * @param requests Where to read the requests from.
+	 * @param replies Where to print when a build is done.
+	 */
+	public void serve(InputStream requests, PrintStream replies)
+	{
+		ErrorPrint.exitOnError = false;
+		FileCompiler.keepSymbols = true;
+
+		BufferedReader reader = new BufferedReader(new InputStreamReader(requests, StandardCharsets.UTF_8));
+		try
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				line = line.trim();
+				if (line.isEmpty())
+					continue;
+				if (line.equals(QUIT))
+					break;
+
+				long start = System.nanoTime();
+				List<String> args = new ArrayList<>(defaultArgs);
+				args.addAll(Arrays.asList(line.split("\\s+")));
+				int exitCode = build(args);
+				long millis = (System.nanoTime() - start) / 1000000;
+
+				// The build may have left a line unfinished. //
+				System.err.flush();
+				replies.println();
+				replies.println(DONE_MARKER + " " + exitCode + " " + millis);
+				replies.flush();
+			}
+		}
+		catch (IOException e)
+		{
+			System.err.println("ERROR: Could not read compile request: " + e);
+		}
+	}
+
+	/**
+	 * Runs a build without letting errors stop the compiler. Also used by the BuildWatcher.
+	 * Turn off ErrorPrint.exitOnError first.
+	 * @param args The command line arguments of the build.
+	 * @return The exit code of the build. 1 if any error was displayed.
+	 */
+	static int build(List<String> args)
+	{
+		// Errors in parallel builds are caught by the workers, so count them instead. //
+		int errorsBefore = ErrorPrint.errorCount.get();
+		try
+		{
+			int exitCode = Main.compile(args.toArray(new String[0]));
+			return ErrorPrint.errorCount.get() != errorsBefore ? 1 : exitCode;
+		}
+		catch (ErrorPrint.CompileError e)
+		{
+			// Already displayed. //
+			return 1;
+		}
+		catch (RuntimeException e)
+		{
+			// One broken build must not take the server down with it. //
+			System.err.println("ERROR: The build crashed: " + e);
+			e.printStackTrace();
+			return 1;
+		}
+	}
+}
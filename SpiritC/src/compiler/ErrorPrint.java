@@ -1,6 +1,7 @@
 package compiler;
 
 import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author david
@@ -9,6 +10,40 @@ import java.io.PrintStream;
 @SuppressWarnings("unused")
 public class ErrorPrint
 {
+	/**
+	 * Thrown instead of exiting when {@link #exitOnError} is false.
+	 */
+	public static class CompileError extends RuntimeException
+	{
+		private static final long serialVersionUID = 1L;
+
+		public CompileError(String message)
+		{
+			super(message);
+		}
+	}
+
+	/**
+	 * Exit the compiler on the first error. The compile server turns this off, since it has to keep running.
+	 */
+	public static volatile boolean exitOnError = true;
+
+	/**
+	 * How many errors that have been displayed since the compiler started.
+	 */
+	public static final AtomicInteger errorCount = new AtomicInteger();
+
+	/**
+	 * Displays an error that isn't about a line of code, e.g a class that could not be found, and counts it.
+	 * The build fails once it is done.
+	 * @param message The whole message.
+	 */
+	public static void displayError(String message)
+	{
+		errorCount.incrementAndGet();
+		System.err.println(message);
+	}
+
 	public PrintStream out = System.out;
 	private String filename;
 	private Parser parser;
@@ -59,7 +94,10 @@ public class ErrorPrint
 		if (!actual.isEmpty()) System.out.println("\tActual:\t\t" + message);
 		if (!message.isEmpty()) System.out.println("\tMessage:\t\t" + message);
 
-		System.exit(0);
+		errorCount.incrementAndGet();
+		if (exitOnError)
+			System.exit(0);
+		throw new CompileError(errorType + " error in file " + parser.lexer.getFileName());
 	}
 
 	public void error(String errorType, String expected, String message)
@@ -1,14 +1,28 @@
 package compiler;
 
 import compiler.ast.ASTBase;
+import compiler.ast.ASTChildList;
 import compiler.ast.ASTClass;
 import compiler.backends.CompilerCPP;
+import compiler.builtins.Builtins;
 import compiler.backends.CompilerSYM;
+import compiler.lib.BuildStats;
 import compiler.lib.IndentPrinter;
 import compiler.lib.PathFind;
+import compiler.lib.PhaseTimer;
+import compiler.lib.SymbolFile;
+import compiler.lib.Tracer;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.zip.CRC32;
 
 /**
  * This class compiles files written in our language.
@@ -21,6 +35,114 @@ import java.util.ArrayList;
 @SuppressWarnings("UnusedReturnValue")
 public class FileCompiler
 {
+	/**
+	 * The name of the manifest file in the output directory.
+	 */
+	private static final String BUILD_MANIFEST = "build.manifest";
+
+	/**
+	 * What every class looked like when it was last compiled.
+	 * Loaded on first use. See getManifest().
+	 */
+	private static BuildManifest manifest = null;
+
+	/**
+	 * The result of shouldCompile() for every file that has been looked at during this build.
+	 */
+	private static final Map<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+	/**
+	 * Files that shouldCompile() is currently looking at. Used to not chase import cycles forever.
+	 */
+	private static final Set<String> deciding = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * A class that has been imported during this build, or is being imported.
+	 */
+	private static class LoadedClass
+	{
+		/** Where the class was put. */
+		final ASTClass parent;
+
+		/** The thread that loads the class. Null once it's done. */
+		volatile Thread owner = Thread.currentThread();
+
+		/** The loaded class. Null if it failed to load. */
+		volatile ASTClass loadedClass = null;
+
+		private final CountDownLatch done = new CountDownLatch(1);
+
+		LoadedClass(ASTClass parent)
+		{
+			this.parent = parent;
+		}
+
+		void finish(ASTClass loadedClass)
+		{
+			this.loadedClass = loadedClass;
+			owner = null;
+			done.countDown();
+		}
+
+		/**
+		 * Waits until the class is loaded.
+		 * The build scheduler compiles a class only once everything that it imports has been compiled,
+		 * so this doesn't wait for long and never waits for a class that waits for us.
+		 * @return The loaded class. Null if it failed to load.
+		 */
+		ASTClass await()
+		{
+			try
+			{
+				done.await();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+			return loadedClass;
+		}
+	}
+
+	/**
+	 * Every class that has been imported during this build, by the canonical path of its source.
+	 * Thus every class is loaded, polished and emitted once per build, no matter how many classes import it.
+	 */
+	private static final Map<String, LoadedClass> loadedClasses = new ConcurrentHashMap<>();
+
+	/**
+	 * The canonical path of every file that has been imported during this build.
+	 */
+	private static final Map<String, String> canonicalNames = new ConcurrentHashMap<>();
+
+	/**
+	 * A symbol file together with the length and the checksum of the content it was decoded from.
+	 */
+	private static class DecodedSymbols
+	{
+		final long length;
+		final long checksum;
+		final SymbolFile symbolFile;
+
+		DecodedSymbols(long length, long checksum, SymbolFile symbolFile)
+		{
+			this.length = length;
+			this.checksum = checksum;
+			this.symbolFile = symbolFile;
+		}
+	}
+
+	/**
+	 * Keep the decoded symbol files between builds. Set by the compile server.
+	 * A single build only loads each symbol file once, so there is nothing to keep them for otherwise.
+	 */
+	public static boolean keepSymbols = false;
+
+	/**
+	 * The last decoding of every binary symbol file that has been loaded, by path. Only used when keepSymbols is set.
+	 */
+	private static final Map<String, DecodedSymbols> symbolCache = new ConcurrentHashMap<>();
+
 	/**
 	 * Creates the corresponding symbol file of fileName
 	 * @param fileName
@@ -31,11 +153,71 @@ public class FileCompiler
 		return "out/" + fileName + ".sym";
 	}
 
-	private static String getClassName(String fileName)
+	/**
+	 * @param fileName A file name that was found in the package path.
+	 * @return The canonical form of the file name. The same file always has the same canonical name.
+	 */
+	private static String getCanonicalName(String fileName)
+	{
+		return canonicalNames.computeIfAbsent(fileName, name -> {
+			try
+			{
+				return new File(name).getCanonicalPath();
+			}
+			catch (IOException e)
+			{
+				return new File(name).getAbsolutePath();
+			}
+		});
+	}
+
+	static String getClassName(String fileName)
 	{
 		return new File(fileName).getName().split("\\.")[0];
 	}
 
+	/**
+	 * Starts a new build. Forgets which files have been looked at and where they were, and reloads the manifest.
+	 */
+	public static synchronized void beginBuild()
+	{
+		decisions.clear();
+		loadedClasses.clear();
+		canonicalNames.clear();
+		PathFind.invalidate();
+		Builtins.clearUndefinedTypes();
+		SymbolInterner.reset();
+		manifest = new BuildManifest(new File("out/" + BUILD_MANIFEST)).load();
+	}
+
+	/**
+	 * Saves what has been compiled during the build, so that the next build can skip it.
+	 */
+	public static synchronized void finishBuild()
+	{
+		// Let the classes of the build go, a compile server keeps running. //
+		loadedClasses.clear();
+
+		if (manifest == null)
+			return;
+
+		try
+		{
+			manifest.save();
+		}
+		catch (IOException e)
+		{
+			System.err.println("ERROR: Could not save the build manifest: " + e);
+		}
+	}
+
+	private static synchronized BuildManifest getManifest()
+	{
+		if (manifest == null)
+			manifest = new BuildManifest(new File("out/" + BUILD_MANIFEST)).load();
+		return manifest;
+	}
+
 	/**
 	 * Imports/compiles/loads the file into parent.
 	 *
@@ -45,69 +227,253 @@ public class FileCompiler
 	 */
 	public static ASTClass importFile(String fileName, ASTClass parent)
 	{
+		Tracer.begin("importFile", getClassName(fileName));
 		try
 		{
-			String realFileName = PathFind.findInPath(Main.getPath(), fileName);
+			return findAndLoad(fileName, parent);
+		}
+		finally
+		{
+			Tracer.end();
+		}
+	}
+
+	/**
+	 * Finds the file in the package path and loads it into parent, unless it has been loaded there already.
+	 * @param fileName The file to import/compile/load
+	 * @return The loaded class. Null on failure.
+	 */
+	private static ASTClass findAndLoad(String fileName, ASTClass parent)
+	{
+		String realFileName = PathFind.findInPath(Main.getPath(), fileName);
+
+		if (realFileName == null)
+		{
+			ErrorPrint.displayError("ERROR Could not find class: " + fileName + " in path: " + Main.getPath());
+			return null;
+		}
 
-			if (realFileName == null)
+		LoadedClass loading = new LoadedClass(parent);
+		LoadedClass loaded = loadedClasses.putIfAbsent(getCanonicalName(realFileName), loading);
+		if (loaded == null)
+		{
+			// We got here first, so we load the class. //
+			ASTClass loadedClass = null;
+			try
 			{
-				System.err.println("ERROR Could not find class: " + fileName + " in path: " + Main.getPath());
-				return null;
+				loadedClass = loadFile(fileName, realFileName, parent);
+			}
+			finally
+			{
+				loading.finish(loadedClass);
 			}
+			return loadedClass;
+		}
+
+		// Somebody else has loaded the class, or is loading it on another thread. //
+		if (loaded.parent == parent && loaded.owner != Thread.currentThread())
+		{
+			Tracer.begin("awaitClass", getClassName(fileName));
+			try
+			{
+				return loaded.await();
+			}
+			finally
+			{
+				Tracer.end();
+			}
+		}
+
+		// Import cycles end up here, as does importing into some other parent. Load it like any other import. //
+		return loadFile(fileName, realFileName, parent);
+	}
+
+	/**
+	 * Compiles or loads a file into parent, no matter if it has been loaded before.
+	 * @param fileName The file to import/compile/load.
+	 * @param realFileName Where the file was found in the package path.
+	 * @param parent Where to put the class.
+	 * @return The loaded class. Null on failure.
+	 */
+	private static ASTClass loadFile(String fileName, String realFileName, ASTClass parent)
+	{
+		try
+		{
+			String className = getClassName(fileName);
+			boolean compile = shouldCompile(realFileName, parent);
+			BuildStats.count(compile ? BuildStats.Counter.CLASSES_COMPILED : BuildStats.Counter.SYM_HITS);
 
 			// Try to see if already imported... //
+			// Also when loading symbols, or an import cycle that is loaded from .sym files never ends. //
 			// TODO: Replace with fileName to name.
-			if (shouldCompile(realFileName) && parent != null)
+			if (parent != null)
 			{
-				ASTBase alreadyImported = parent.findSymbol(getClassName(fileName));
+				ASTBase alreadyImported = parent.findSymbol(className);
 				if (alreadyImported != null && alreadyImported instanceof ASTClass)
 				{
 					return (ASTClass) alreadyImported;
 				}
 			}
 
-			ASTClass loadedClass = loadClassAST(realFileName, parent);
+			// Hash the source before it's read, so that an edit during the compile is noticed next time. //
+			String sourceHash = compile ? BuildManifest.hashFile(new File(realFileName)) : null;
+
+			ASTClass loadedClass;
+			Tracer.begin("loadClassAST", className);
+			try
+			{
+				loadedClass = loadClassAST(realFileName, parent, compile);
+			}
+			finally
+			{
+				Tracer.end();
+			}
 
 			if (loadedClass == null)
 			{
-				System.err.println("ERROR: Could no load AST of " + fileName);
+				ErrorPrint.displayError("ERROR: Could no load AST of " + fileName);
 				return null;
 			}
 
 			// Make sure the class is complete with all required features. //
-			new Polisher(loadedClass).polishClass();
+			PhaseTimer.start(PhaseTimer.Phase.POLISH, className);
+			try
+			{
+				new Polisher(loadedClass).polishClass();
+			}
+			finally
+			{
+				PhaseTimer.stop();
+			}
+
+			// Bind all names once, now that the class won't change. //
+			PhaseTimer.start(PhaseTimer.Phase.RESOLVE, className);
+			try
+			{
+				new NameResolver(loadedClass).resolveClass();
+			}
+			finally
+			{
+				PhaseTimer.stop();
+			}
 
-			if (shouldCompile(realFileName))
+			if (compile)
 			{
 				// While compiling we create two outputs:                       //
 				// * The backend output file. e.g .cpp                          //
 				// * The symbol file used to load the class without re-parsing. //
 
-				LangCompiler compiler = chooseCompiler();
-				compiler.createFileStreams(fileName);
-				compiler.compileClass(loadedClass);
-				compiler.closeStreams();
+				boolean written;
+				PhaseTimer.start(PhaseTimer.Phase.EMIT, className);
+				try
+				{
+					LangCompiler compiler = chooseCompiler();
+					compiler.createFileStreams(fileName);
+					compiler.compileClass(loadedClass);
+					written = traceCloseStreams(compiler, className, fileName);
+				}
+				finally
+				{
+					PhaseTimer.stop();
+				}
 
-				LangCompiler symbolCompiler = new CompilerSYM();
-				symbolCompiler.createFileStreams(fileName);
-				symbolCompiler.compileClass(loadedClass);
-				symbolCompiler.closeStreams();
+				PhaseTimer.start(PhaseTimer.Phase.EMIT_SYMBOLS, className);
+				try
+				{
+					LangCompiler symbolCompiler = new CompilerSYM();
+					symbolCompiler.createFileStreams(fileName);
+					symbolCompiler.compileClass(loadedClass);
+					written &= traceCloseStreams(symbolCompiler, className, fileName);
+				}
+				finally
+				{
+					PhaseTimer.stop();
+				}
 
 				// TODO: This isn't DRY.
 				// TODO: Perhaps a wrapper function should be made?
+
+				// The next build must not trust output that isn't there. //
+				if (written)
+					recordBuild(fileName, realFileName, sourceHash, loadedClass);
+
+				// Everything has been emitted, so dependents only need the signatures from now on. //
+				if (Main.lowMemory && parent != null)
+					loadedClass = releaseBodies(loadedClass, parent);
 			}
 
 			return loadedClass;
 		}
 		catch (FileNotFoundException e)
 		{
-			System.err.println("ERROR: File not found!"); // FIXME: Doesn't report what file.
+			ErrorPrint.displayError("ERROR: File not found!"); // FIXME: Doesn't report what file.
 			// TODO: Using fileName won't do because there might be more than one place where such an exception can occure.
 			e.printStackTrace();
 			return null;
 		}
 	}
 
+	/**
+	 * Replaces a compiled class with what its symbol file holds: its imports, its variables and the signatures of
+	 * its functions. The bodies of the functions can then be collected, so that the heap holds the signatures of
+	 * the whole project but the bodies of only the classes that are being compiled.
+	 * @param compiledClass The class, once everything has been emitted.
+	 * @param parent Where the class is.
+	 * @return The class that took the place of compiledClass. Just like a class loaded from its symbol file.
+	 */
+	public static ASTClass releaseBodies(ASTClass compiledClass, ASTClass parent)
+	{
+		Tracer.begin("releaseBodies", compiledClass.getName());
+		try
+		{
+			SymbolFile signatures = new SymbolFile(Main.VERSION);
+			new CompilerSYM(signatures).compileClass(compiledClass);
+
+			// The parent finds classes by name, so the old one has to go first. //
+			compiledClass.setParent(ASTChildList.ListKey.BODY, null);
+
+			ASTClass signatureClass = new ASTClass(compiledClass.getName(), parent);
+
+			// The imports have been loaded already. //
+			signatureClass.ignoreImports = true;
+			new ParserSYM(signatures).parseFile(signatureClass);
+
+			new Polisher(signatureClass).polishClass();
+			new NameResolver(signatureClass).resolveClass();
+			return signatureClass;
+		}
+		finally
+		{
+			Tracer.end();
+		}
+	}
+
+	/**
+	 * Closes the streams of a compiler, which hands its output over to the writer.
+	 * @param compiler The compiler.
+	 * @param className The class that was compiled.
+	 * @param fileName The file that was compiled.
+	 * @return False if the output could not be written. The error has been displayed.
+	 */
+	private static boolean traceCloseStreams(LangCompiler compiler, String className, String fileName)
+	{
+		Tracer.begin("closeStreams", className);
+		try
+		{
+			compiler.closeStreams();
+			return true;
+		}
+		catch (IOException e)
+		{
+			ErrorPrint.displayError("ERROR: Could not write the output of " + fileName + ": " + e);
+			return false;
+		}
+		finally
+		{
+			Tracer.end();
+		}
+	}
+
 	/**
 	 * Creates the requested compiler based on the chosen backend.
 	 * @return The created compiler.
@@ -122,10 +488,11 @@ public class FileCompiler
 	 * The cache is stored as a symbol file (.spirit.sym).
 	 * @param fileName The file path to the class to load.
 	 * @param root Where to put the class once it's loaded.
+	 * @param compile If the class should be parsed from source instead of loaded from its symbol file.
 	 * @return The loaded class.
 	 * @throws FileNotFoundException If the file is not found.
 	 */
-	private static ASTClass loadClassAST(String fileName, ASTClass root) throws FileNotFoundException
+	private static ASTClass loadClassAST(String fileName, ASTClass root, boolean compile) throws FileNotFoundException
 	{
 		if (!new File(fileName).exists())
 		{
@@ -133,39 +500,173 @@ public class FileCompiler
 			throw new FileNotFoundException(fileName);
 		}
 
-		ASTClass dest = new ASTClass(getClassName(fileName), root);
+		String className = getClassName(fileName);
+		ASTClass dest = new ASTClass(className, root);
 
 		// Checks if file has been changed since last compile. //
-		if (shouldCompile(fileName))
+		if (compile)
 		{
-			// Start a parse that reads from a lexer that reads from the class source. //
-			Lexer lexer = new Lexer(new PushbackInputStream(new FileInputStream(fileName), 3), fileName);
-			Parser parser = new Parser(lexer);
+			PhaseTimer.start(PhaseTimer.Phase.PARSE, className);
+			try
+			{
+				// Start a parse that reads from a lexer that reads from the class source. //
+				Lexer lexer = readLexer(fileName, fileName);
+				Parser parser = new Parser(lexer);
 
-			// Parse the represented AST from the file into the the dest node. //
-			parser.parseFile(dest);
+				// Parse the represented AST from the file into the the dest node. //
+				parser.parseFile(dest);
+				BuildStats.add(BuildStats.Counter.TOKENS, lexer.getTokenCount());
+			}
+			finally
+			{
+				PhaseTimer.stop();
+			}
 
 			// Make sure that nothing illegal happens in the AST. //
-			new IntegrityChecker(dest).checkIntegrity();
+			PhaseTimer.start(PhaseTimer.Phase.CHECK, className);
+			try
+			{
+				new IntegrityChecker(dest).checkIntegrity();
+			}
+			finally
+			{
+				PhaseTimer.stop();
+			}
 		}
 		else
 		{
-			Lexer lexer = new Lexer(new PushbackInputStream(new FileInputStream(getSymFileName(fileName))), fileName);
-			ParserSYM parserSYM = new ParserSYM(lexer);
-			if (!parserSYM.parseFile(dest))
-				return null;
-
+			PhaseTimer.start(PhaseTimer.Phase.LOAD, className);
+			try
+			{
+				if (!loadSymbols(fileName, dest))
+					return null;
+			}
+			finally
+			{
+				PhaseTimer.stop();
+			}
 		}
 
 		return dest;
 	}
 
 	/**
-	 * Checks if we need to compile a file by comparing the output file to the source files last modified date.
+	 * Loads a class from its symbol file.
+	 * @param fileName The file path to the class to load.
+	 * @param dest Where to load the class into.
+	 * @return False if the symbol file could not be loaded.
+	 * @throws FileNotFoundException If the symbol file is not found.
+	 */
+	private static boolean loadSymbols(String fileName, ASTClass dest) throws FileNotFoundException
+	{
+		String symFileName = getSymFileName(fileName);
+		File symFile = new File(symFileName);
+
+		ParserSYM parserSYM;
+		if (SymbolFile.isBinary(symFile))
+		{
+			try
+			{
+				parserSYM = new ParserSYM(readSymbols(symFile));
+			}
+			catch (IOException e)
+			{
+				ErrorPrint.displayError("ERROR: Corrupted .sym file! " + e.getMessage());
+				return false;
+			}
+		}
+		else
+		{
+			parserSYM = new ParserSYM(readLexer(symFileName, fileName));
+		}
+
+		return parserSYM.parseFile(dest);
+	}
+
+	/**
+	 * Reads a binary symbol file through a memory mapping.
+	 * A compile server reuses the last decoding of the file if its content hasn't changed since.
+	 * @param symFile The symbol file.
+	 * @return The decoded symbol file. Must not be modified.
+	 * @throws IOException If the file can't be read or is corrupted.
+	 */
+	private static SymbolFile readSymbols(File symFile) throws IOException
+	{
+		if (!keepSymbols)
+			return SymbolFile.read(symFile);
+
+		ByteBuffer content = SymbolFile.map(symFile);
+		CRC32 crc = new CRC32();
+		crc.update(content.duplicate());
+
+		String path = symFile.getPath();
+		DecodedSymbols decoded = symbolCache.get(path);
+		if (decoded != null && decoded.length == content.remaining() && decoded.checksum == crc.getValue())
+		{
+			BuildStats.count(BuildStats.Counter.SYM_DECODES_REUSED);
+			return decoded.symbolFile;
+		}
+
+		SymbolFile symbolFile = SymbolFile.decode(content);
+		symbolCache.put(path, new DecodedSymbols(content.limit(), crc.getValue(), symbolFile));
+		return symbolFile;
+	}
+
+	/**
+	 * Reads a whole file into a lexer.
+	 * @param path The file to read.
+	 * @param fileName The file name that errors are reported with.
+	 * @return The lexer.
+	 * @throws FileNotFoundException If the file could not be read.
+	 */
+	private static Lexer readLexer(String path, String fileName) throws FileNotFoundException
+	{
+		try
+		{
+			return new Lexer(Files.readAllBytes(Paths.get(path)), fileName);
+		}
+		catch (IOException e)
+		{
+			throw new FileNotFoundException(path);
+		}
+	}
+
+	/**
+	 * Checks if we need to compile a file.
+	 * The answer is remembered for the rest of the build. See decideCompile().
+	 * @param fileName The name of the file that we're checking.
+	 * @param parent Where dependencies that have to be compiled first are imported to.
+	 * @return If we should compile the file or not.
+	 */
+	private static boolean shouldCompile(String fileName, ASTClass parent)
+	{
+		Boolean decision = decisions.get(fileName);
+		if (decision != null)
+			return decision;
+
+		deciding.add(fileName);
+		try
+		{
+			decision = decideCompile(fileName, parent);
+		}
+		finally
+		{
+			deciding.remove(fileName);
+		}
+
+		Boolean previous = decisions.putIfAbsent(fileName, decision);
+		return previous != null ? previous : decision;
+	}
+
+	/**
+	 * Compares a file against what it looked like when it was last compiled.
+	 * The content of the source file and the interfaces of its dependencies are compared, not their dates.
+	 * Dependencies are brought up to date first, so that a changed interface is seen.
 	 * @param fileName The name of the file that we're checking.
+	 * @param parent Where dependencies that have to be compiled first are imported to.
 	 * @return If we should compile the file or not.
 	 */
-	private static boolean shouldCompile(String fileName)
+	private static boolean decideCompile(String fileName, ASTClass parent)
 	{
 		// Create a reference to the two files, source and sym output. //
 		File sourceFile = new File(fileName);
@@ -183,7 +684,82 @@ public class FileCompiler
 			return true;
 		}
 
-		// If we changed the source file since the last compile, then we need to recompile. //
-		return (sourceFile.lastModified() >= symFile.lastModified());
+		// If we never compiled the file, or changed it since the last compile, then we need to recompile. //
+		BuildManifest.Entry entry = getManifest().get(fileName);
+		if (entry == null || entry.sourceHash == null || !entry.sourceHash.equals(BuildManifest.hashFile(sourceFile)))
+		{
+			return true;
+		}
+
+		// If the interface of a dependency changed, then we need to recompile. //
+		for (Map.Entry<String, String> dependency : entry.dependencies.entrySet())
+		{
+			String dependencyFile = PathFind.findInPath(Main.getPath(), dependency.getKey());
+			if (dependencyFile == null)
+			{
+				// Only a dependency that is still missing is unchanged. //
+				if (!dependency.getValue().equals(BuildManifest.MISSING))
+					return true;
+				continue;
+			}
+
+			// An import cycle is compared against what the dependency looked like last time. //
+			if (!deciding.contains(dependencyFile) && shouldCompile(dependencyFile, parent))
+				importFile(dependency.getKey(), parent);
+
+			String interfaceHash = getInterfaceHash(dependencyFile);
+			if (!dependency.getValue().equals(interfaceHash != null ? interfaceHash : BuildManifest.MISSING))
+				return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * @param fileName The name of a source file.
+	 * @return The hash of the symbol file that the source compiled into. Null if there is none.
+	 */
+	private static String getInterfaceHash(String fileName)
+	{
+		BuildManifest.Entry entry = getManifest().get(fileName);
+		if (entry != null && entry.interfaceHash != null)
+			return entry.interfaceHash;
+		return BuildManifest.hashFile(new File(getSymFileName(fileName)));
+	}
+
+	/**
+	 * Remembers what a file and its dependencies looked like when it was compiled.
+	 * @param fileName The name that the file was imported with.
+	 * @param realFileName The path of the source file.
+	 * @param sourceHash The hash of the source that was compiled.
+	 * @param compiledClass The compiled class.
+	 */
+	private static void recordBuild(String fileName, String realFileName, String sourceHash, ASTClass compiledClass)
+	{
+		// The file is compiled now. Later imports will load it from its symbol file. //
+		decisions.put(realFileName, false);
+
+		BuildManifest.Entry entry = new BuildManifest.Entry();
+		entry.sourceHash = sourceHash;
+		entry.interfaceHash = BuildManifest.hashFile(new File("out/" + fileName + ".sym"));
+		if (sourceHash == null || entry.interfaceHash == null)
+		{
+			// Without an entry the file is compiled again by every build, so say why. //
+			System.err.println("ERROR: Could not record the build of " + fileName + ", "
+					+ (sourceHash == null ? "its source" : "its symbol file") + " could not be read.");
+			return;
+		}
+
+		for (ASTClass.ImportDeclaration declaration : compiledClass.classImports)
+		{
+			String dependencyName = declaration.importPackage + Main.FILE_EXTENSION;
+			String dependencyFile = PathFind.findInPath(Main.getPath(), dependencyName);
+			String dependencyHash = dependencyFile != null ? getInterfaceHash(dependencyFile) : null;
+
+			// Still record the file, so that it is compiled once more when the interface shows up, not every time. //
+			entry.dependencies.put(dependencyName, dependencyHash != null ? dependencyHash : BuildManifest.MISSING);
+		}
+
+		getManifest().put(realFileName, entry);
 	}
-}
\ No newline at end of file
+}
@@ -4,11 +4,12 @@ import compiler.ast.*;
 
 /**
  * This class can check if a class has type integrity.
+ * All checks are made during a single walk over the class.
  *
  * @author Tyrerexus
  * @date 30/06/17
  */
-public class IntegrityChecker
+public class IntegrityChecker extends ASTVisitor
 {
 	ASTClass astClass;
 
@@ -20,91 +21,84 @@ public class IntegrityChecker
 	/**
 	 * Checks all possible integrities of a class.
 	 */
-	void checkIntegrity()
+	public void checkIntegrity()
 	{
-		checkFunctionCalls();
-		checkVariableTypes();
-		checkAssignments();
+		astClass.accept(this);
+	}
+
+	@Override
+	public boolean visitOperator(ASTOperator operator)
+	{
+		checkAssignment(operator);
+		return true;
+	}
+
+	@Override
+	public boolean visitFunctionCall(ASTFunctionCall call)
+	{
+		checkFunctionCall(call);
+		return true;
+	}
+
+	@Override
+	public boolean visitVariableDeclaration(ASTVariableDeclaration declaration)
+	{
+		checkVariableType(declaration);
+		return true;
 	}
 
 	/**
 	 * Checks that L side is assignable from R side of assignment operators.
 	 */
-	private void checkAssignments()
+	private void checkAssignment(ASTOperator operator)
 	{
-		for (ASTBase ast : TraverseAST.traverse(astClass, ASTOperator.class))
+		if (operator.getName().equals(Syntax.Op.Assign.IS))
 		{
-			ASTOperator operator = (ASTOperator) ast;
-
-			if (operator.getName().equals(Syntax.Op.Assign.IS))
+			if (!SpiritType.isAssignableFrom(operator.getLeftExpression().getExpressionType(),
+			                                operator.getRightExpression().getExpressionType()))
 			{
-				if (!SpiritType.isAssignableFrom(operator.getLeftExpression().getExpressionType(),
-				                                operator.getRightExpression().getExpressionType()))
-				{
-					System.err.println("ERROR: Type miss-match in assignment of: " + operator.getLeftExpression().toString());
-				}
+				System.err.println("ERROR: Type miss-match in assignment of: " + operator.getLeftExpression().toString());
 			}
 		}
 	}
 
 	/**
-	 * Makes sure that all calls have matching parameters to it's declaration.
+	 * Makes sure that a call has matching parameters to it's declaration.
 	 */
-	void checkFunctionCalls()
+	void checkFunctionCall(ASTFunctionCall call)
 	{
-		for (ASTBase ast : TraverseAST.traverse(astClass, ASTFunctionCall.class))
-		{
-			// Get the function group that declares all callable functions with the name of the function call. //
-			ASTFunctionCall call = (ASTFunctionCall)ast;
-			ASTVariableDeclaration declarationVar = (ASTVariableDeclaration) call.getDeclarationPath().getDeclaration();
-			ASTFunctionGroup group;
+		// Get the function group that declares all callable functions with the name of the function call. //
+		ASTVariableDeclaration declarationVar = (ASTVariableDeclaration) call.getDeclarationPath().getDeclaration();
+		ASTFunctionGroup group;
 
-			if (!declarationVar.isFunctionDeclaration())
-			{
-				// Call to variable. //
-				//declarationVar = (ASTVariableDeclaration) ((ASTFunctionCall)declarationVar.getValue()).getDeclarationPath().getDeclaration();
-				declarationVar = (ASTVariableDeclaration) call.getDeclarationPath().getDeclaration().getExpressionType().getChildByName(Syntax.ReservedNames.SELF);
-			}
-
-			group = (ASTFunctionGroup) declarationVar.getValue();
+		if (!declarationVar.isFunctionDeclaration())
+		{
+			// Call to variable. //
+			//declarationVar = (ASTVariableDeclaration) ((ASTFunctionCall)declarationVar.getValue()).getDeclarationPath().getDeclaration();
+			declarationVar = (ASTVariableDeclaration) call.getDeclarationPath().getDeclaration().getExpressionType().getChildByName(Syntax.ReservedNames.SELF);
+		}
 
-			// True if we found at least one matching declaration. //
-			boolean hasFoundMatchingDeclaration = false;
+		group = (ASTFunctionGroup) declarationVar.getValue();
 
-			// Iterate and try to find a matching declaration. //
-			for (ASTBase astBase : group.children.getBody())
-			{
-				ASTFunctionDeclaration declaration = (ASTFunctionDeclaration) astBase;
+		// Here we test that there is a declaration that takes the same amount of arguments as the call. //
+		// TODO:  We also need to check the types.
+		boolean hasFoundMatchingDeclaration = !group.getWithArity(call.children.size(ASTChildList.ListKey.ARGS)).isEmpty();
 
-				// Here we test that the call and the declaration takes in the same amount of arguments. //
-				if (declaration.children.getArgs().size() == call.children.getArgs().size())
-				{
-					// TODO:  We also need to check the types.
-					hasFoundMatchingDeclaration = true;
-				}
-			}
-
-			// If we've found an error.
-			if (!hasFoundMatchingDeclaration)
-			{
-				System.err.println("ERROR: Could not find MATCHING declaration for: " + call.getDeclarationPath().toString());
-			}
+		// If we've found an error.
+		if (!hasFoundMatchingDeclaration)
+		{
+			System.err.println("ERROR: Could not find MATCHING declaration for: " + call.getDeclarationPath().toString());
 		}
 	}
 
-	void checkVariableTypes()
+	void checkVariableType(ASTVariableDeclaration declaration)
 	{
-		for (ASTBase ast : TraverseAST.traverse(astClass, ASTVariableDeclaration.class))
+		if (declaration.getValue() != null && !declaration.isFunctionDeclaration())
 		{
-			ASTVariableDeclaration declaration = (ASTVariableDeclaration) ast;
-
-			if (declaration.getValue() != null && !declaration.isFunctionDeclaration())
+			if (!SpiritType.isAssignableFrom(declaration.getExpressionType(),
+			                                declaration.getValue().getExpressionType()))
 			{
-				if (!SpiritType.isAssignableFrom(declaration.getExpressionType(),
-				                                declaration.getValue().getExpressionType()))
-				{
-					System.err.println("ERROR: Type miss-match in declaration!: " + declaration.getName());
-				}
+				System.err.println("ERROR: Type miss-match in declaration!: " + declaration.getName());
 			}
 		}
 	}
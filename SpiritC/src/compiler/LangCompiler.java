@@ -2,6 +2,8 @@ package compiler;
 
 import compiler.ast.*;
 
+import java.io.IOException;
+
 /**
  * The file defines everything a backend has to be able to compile.
  * It also defines functions that are called before and after compilation.
@@ -35,8 +37,9 @@ public abstract class LangCompiler
 
 	/**
 	 * Flush and close streams.
+	 * @throws IOException If the output could not be written.
 	 */
-	public abstract void closeStreams();
+	public abstract void closeStreams() throws IOException;
 
 	public LangCompiler()
 	{
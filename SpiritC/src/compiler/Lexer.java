@@ -1,12 +1,13 @@
 package compiler;
 
-import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.PushbackInputStream;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 
 /**
  * This class is used to extract tokens out of a stream.
+ * The whole source is held in an array and read through a cursor. Putting a char back is just moving the cursor back.
  *
  * @author david
  * @date 4/11/17.
@@ -14,15 +15,42 @@ import java.nio.charset.StandardCharsets;
 @SuppressWarnings("WeakerAccess")
 public class Lexer
 {
+	/**
+	 * The chars of the block comment markers. Checked for every char that is read.
+	 */
+	private static final char BLOCK_COMMENT_START_0 = Syntax.Op.BLOCK_COMMENT_START.charAt(0);
+	private static final char BLOCK_COMMENT_START_1 = Syntax.Op.BLOCK_COMMENT_START.charAt(1);
+	private static final char BLOCK_COMMENT_END_0 = Syntax.Op.BLOCK_COMMENT_END.charAt(0);
+	private static final char BLOCK_COMMENT_END_1 = Syntax.Op.BLOCK_COMMENT_END.charAt(1);
+
+	private static final SymbolInterner.Symbol LPAR = SymbolInterner.intern("(");
+	private static final SymbolInterner.Symbol RPAR = SymbolInterner.intern(")");
+	private static final SymbolInterner.Symbol TYPEDEF = SymbolInterner.intern(Syntax.Op.TYPEDEF);
+
 	/**
 	 * The file name we are reading from.
 	 */
 	private String fileName;
 
 	/**
-	 * Current input stream.
+	 * The whole input.
+	 */
+	private byte[] input;
+
+	/**
+	 * The index of the next byte to read from input.
+	 */
+	private int cursor = 0;
+
+	/**
+	 * The symbol, number or operator being read. Reused for every token.
+	 */
+	private final StringBuilder word = new StringBuilder();
+
+	/**
+	 * The words this lexer has seen recently, by hash. Saves a trip to the shared SymbolInterner.
 	 */
-	private PushbackInputStream input;
+	private final SymbolInterner.Symbol[] recentWords = new SymbolInterner.Symbol[1024];
 
 	/**
 	 * The column that we are on right now.
@@ -44,6 +72,11 @@ public class Lexer
 	 */
 	private int parenthesesCount = 0;
 
+	/**
+	 * How many tokens have been extracted.
+	 */
+	private int tokenCount = 0;
+
 	/**
 	 * Getter for fileName
 	 * @return The filename we are reading from.
@@ -62,18 +95,51 @@ public class Lexer
 		return lineNumber;
 	}
 
-	public Lexer(PushbackInputStream input, String fileName)
+	/**
+	 * Getter for tokenCount.
+	 * @return How many tokens have been extracted so far.
+	 */
+	public int getTokenCount()
+	{
+		return tokenCount;
+	}
+
+	public Lexer(byte[] input, String fileName)
 	{
 		this.input = input;
 		this.fileName = fileName;
 	}
 
+	public Lexer(InputStream input, String fileName)
+	{
+		this(readAll(input), fileName);
+	}
+
 	public Lexer(String input, String fileName)
 	{
-		this(new PushbackInputStream (
-				new ByteArrayInputStream (
-						input.getBytes(StandardCharsets.UTF_8))),
-				fileName);
+		this(input.getBytes(StandardCharsets.UTF_8), fileName);
+	}
+
+	/**
+	 * Reads everything that is left in a stream.
+	 * @param input The stream to read.
+	 * @return What was read. Empty if the stream failed.
+	 */
+	private static byte[] readAll(InputStream input)
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		try
+		{
+			int read;
+			while ((read = input.read(buffer)) != -1)
+				out.write(buffer, 0, read);
+		}
+		catch (IOException e)
+		{
+			e.printStackTrace();
+		}
+		return out.toByteArray();
 	}
 
 	/**
@@ -81,6 +147,12 @@ public class Lexer
 	 * @return The extracted token.
 	 */
 	public Token getToken()
+	{
+		tokenCount++;
+		return readToken();
+	}
+
+	private Token readToken()
 	{
 		int c = readChar();
 
@@ -115,47 +187,48 @@ public class Lexer
 		if (c == '(')
 		{
 			++parenthesesCount;
-			return new Token("(", Token.TokenType.LPAR, columnNumber, lineNumber);
+			return new Token(LPAR, Token.TokenType.LPAR, columnNumber, lineNumber);
 		}
 		else if (c == ')')
 		{
 			--parenthesesCount;
-			return new Token(")", Token.TokenType.RPAR, columnNumber, lineNumber);
+			return new Token(RPAR, Token.TokenType.RPAR, columnNumber, lineNumber);
 		}
 		else if (c == ':')
-			return new Token(":", Token.TokenType.OPERATOR, columnNumber, lineNumber);
+			return new Token(TYPEDEF, Token.TokenType.OPERATOR, columnNumber, lineNumber);
 
 		// Check if we are reading a number. //
 		else if (Character.isDigit((char) c))
 		{
-			StringBuilder digit = new StringBuilder();
+			word.setLength(0);
 
 			while (Character.isDigit(c) && c != -1)
 			{
-				digit.append((char) c);
+				word.append((char) c);
 				c = readChar();
 			}
 			unReadChar(c);
 
-			return new Token(digit.toString(), Token.TokenType.NUMBER, columnNumber, lineNumber);
+			// Literals aren't names, so they aren't interned. //
+			return new Token(word.toString(), Token.TokenType.NUMBER, columnNumber, lineNumber);
 		}
 
 
 		// check if we are reading a symbol. //
 		else if (Character.isAlphabetic((char) c) || c == '_')
 		{
-			StringBuilder string = new StringBuilder();
+			word.setLength(0);
 
 
 			while ((Character.isAlphabetic(c) || Character.isDigit(c)  || c == '_') && c != -1)
 			{
-				string.append((char) c);
+				word.append((char) c);
 				c = readChar();
 
 			}
 
 			unReadChar(c);
-			return new Token(string.toString(), Token.TokenType.SYMBOL, columnNumber, lineNumber);
+			return new Token(internWord(), Token.TokenType.SYMBOL, columnNumber, lineNumber);
 		}
 
 		// Check if we are reading a string. //
@@ -164,7 +237,7 @@ public class Lexer
 			StringBuilder string = new StringBuilder();
 
 			c = readChar();
-			while (c != '"')
+			while (c != '"' && c != -1)
 			{
 				if (c != '\t' && c != '\n') string.append((char) c);
 				c = readChar();
@@ -176,7 +249,7 @@ public class Lexer
 		// Check if we are reading a macro statement. //
 		else if (c == Syntax.Macro.IDENTIFIER)
 		{
-			String macro = getToken().value;
+			String macro = readToken().value;
 			// Check if we have found an inline statement. //
 			if (macro.equals(Syntax.Macro.INLINE))
 			{
@@ -232,59 +305,82 @@ public class Lexer
 			unReadChar(c);
 
 
-			return getToken();
+			return readToken();
 		}
 
 
 		// Otherwise it's an operator. //
 		else
 		{
-			StringBuilder operator = new StringBuilder();
+			word.setLength(0);
 			while (!Character.isLetterOrDigit((char)c) && c != ' ' && c != '\n' && c != '\t' && c!= '(' && c != ')' && c != -1)
 			{
-				operator.append((char) c);
+				word.append((char) c);
 				c = readChar();
 			}
 			unReadChar(c);
 
-			return new Token(operator.toString(), Token.TokenType.OPERATOR, columnNumber, lineNumber);
+			return new Token(internWord(), Token.TokenType.OPERATOR, columnNumber, lineNumber);
 		}
 	}
 
+	/**
+	 * Finds the interned symbol of the word that was just read into word.
+	 * Recently seen words are looked up without creating a String.
+	 * @return The symbol of the word.
+	 */
+	private SymbolInterner.Symbol internWord()
+	{
+		int length = word.length();
+		int hash = 0;
+		for (int i = 0; i < length; i++)
+			hash = 31 * hash + word.charAt(i);
+
+		int slot = (hash ^ (hash >>> 16)) & (recentWords.length - 1);
+		SymbolInterner.Symbol symbol = recentWords[slot];
+		if (symbol != null && symbol.text.length() == length)
+		{
+			String text = symbol.text;
+			int i = 0;
+			while (i < length && text.charAt(i) == word.charAt(i))
+				i++;
+			if (i == length)
+				return symbol;
+		}
+
+		symbol = SymbolInterner.intern(word.toString());
+		recentWords[slot] = symbol;
+		return symbol;
+	}
+
 	/**
 	 * Gets one character from stream.
 	 * @return The character that was read.
 	 */
 	private int readChar()
 	{
-		int c;
+		// EOF is not consumed, so it can be read any number of times. //
+		if (cursor == input.length)
+			return -1;
 
-		try
-		{
-			c =  input.read();
+		int c = input[cursor++] & 0xFF;
 
-			if (c == '\n')
-			{
-				lineNumber++;
-				oldColumnNumber = columnNumber;
-				columnNumber = 0;
-			}
-		}
-		catch (IOException e)
+		if (c == '\n')
 		{
-			c = -1;
-			e.printStackTrace();
+			lineNumber++;
+			oldColumnNumber = columnNumber;
+			columnNumber = 0;
 		}
 
 
 		// Check if we are reading a block comment. //
-		if (c == Syntax.Op.BLOCK_COMMENT_START.toCharArray()[0])
+		if (c == BLOCK_COMMENT_START_0)
 		{
 
 			int temp = readChar();
 
 			// Check if we have read a block comment (this assumes that the block comment is 2 chars in length. //
-			if (temp == Syntax.Op.BLOCK_COMMENT_START.toCharArray()[1])
+			if (temp == BLOCK_COMMENT_START_1)
 			{
 				c = temp;
 				int nestedLevel = 1;
@@ -297,33 +393,30 @@ public class Lexer
 						return -1;
 					}
 
-					if (c == Syntax.Op.BLOCK_COMMENT_START.toCharArray()[0])
+					// Only the char that we peeked at is put back. It might start or end a comment itself. //
+					if (c == BLOCK_COMMENT_START_0)
 					{
-						int lastSChar = c;
 						c = readChar();
-						if (c == Syntax.Op.BLOCK_COMMENT_START.toCharArray()[1])
+						if (c == BLOCK_COMMENT_START_1)
 						{
 							nestedLevel++;
 						}
 						else
 						{
-							unReadChar(lastSChar);
 							unReadChar(c);
 						}
 
 					}
 
-					if (c == Syntax.Op.BLOCK_COMMENT_END.toCharArray()[0])
+					if (c == BLOCK_COMMENT_END_0)
 					{
 						c = readChar();
-						int lastEndChar = c;
-						if (c == Syntax.Op.BLOCK_COMMENT_END.toCharArray()[1])
+						if (c == BLOCK_COMMENT_END_1)
 						{
 							nestedLevel--;
 						}
 						else
 						{
-							unReadChar(lastEndChar);
 							unReadChar(c);
 						}
 					}
@@ -346,15 +439,8 @@ public class Lexer
 	 */
 	private void unReadChar(int c)
 	{
-		try
-		{
-			if (c != -1)
-				input.unread(c);
-		}
-		catch (IOException e)
-		{
-			e.printStackTrace();
-		}
+		if (c != -1)
+			cursor--;
 
 		columnNumber--;
 
@@ -1,10 +1,17 @@
 package compiler;
 
 import compiler.ast.ASTClass;
+import compiler.lib.BuildStats;
 import compiler.lib.IndentPrinter;
+import compiler.lib.OutputWriter;
+import compiler.lib.PhaseTimer;
+import compiler.lib.Tracer;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * This class parses arguments and calls the compiler.
@@ -22,9 +29,63 @@ public class Main
 	public static final String FILE_EXTENSION = ".spirit";
 	public static File outDir = new File("out/");
 
-	public static String getPath()
+	/**
+	 * How many classes that may be compiled at the same time.
+	 */
+	public static int jobs = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Write .sym files as text instead of binary. Useful when debugging.
+	 */
+	public static boolean textSymbols = false;
+
+	/**
+	 * Print how long each phase of the compilation took.
+	 */
+	public static boolean timings = false;
+
+	/**
+	 * Print the time, CPU time and allocations of every phase and class, and what the compiler counted.
+	 */
+	public static boolean stats = false;
+
+	/**
+	 * Where to write the stats as JSON. Null to not write them.
+	 */
+	public static File statsJson = null;
+
+	/**
+	 * Where to write a Chrome trace of the build. Null to not trace.
+	 */
+	public static File traceFile = null;
+
+	/**
+	 * Replace every class with its signatures once its output has been written, so that the heap doesn't grow
+	 * with the size of the whole project.
+	 */
+	public static boolean lowMemory = false;
+
+	/**
+	 * Print the AST of every class once the build is done. Useful when debugging the compiler.
+	 */
+	public static boolean dumpAst = false;
+
+	/**
+	 * Writes the output of the backends in the background.
+	 */
+	public static final OutputWriter outputWriter = new OutputWriter();
+
+	/**
+	 * The package path. The environment doesn't change while we run, so it's only read once.
+	 */
+	private static String path = null;
+
+	public static synchronized String getPath()
 	{
-		String path = System.getenv(Main.ENV_PKG_PATH);
+		if (path != null)
+			return path;
+
+		path = System.getenv(Main.ENV_PKG_PATH);
 
 		// If environment variable isn't specified.
 		if (path == null)
@@ -37,6 +98,51 @@ public class Main
 
 	public static void main(String[] args)
 	{
+		for (int i = 0; i < args.length; i++)
+		{
+			if (args[i].equals("--server"))
+			{
+				// The other arguments are used for every build that the server runs. //
+				List<String> defaultArgs = new ArrayList<>(Arrays.asList(args));
+				defaultArgs.remove(i);
+				new CompileServer(defaultArgs).serve(System.in, System.out);
+				return;
+			}
+			if (args[i].equals("--watch"))
+			{
+				List<String> buildArgs = new ArrayList<>(Arrays.asList(args));
+				buildArgs.remove(i);
+				new BuildWatcher(buildArgs).watch();
+				return;
+			}
+		}
+
+		int exitCode = compile(args);
+		if (exitCode != 0)
+			System.exit(exitCode);
+	}
+
+	/**
+	 * Runs one build.
+	 * @param args The command line arguments of the build.
+	 * @return The exit code. 0 on success.
+	 */
+	public static int compile(String[] args)
+	{
+		// A compile server runs many builds, so start from the defaults every time. //
+		outDir = new File("out/");
+		jobs = Runtime.getRuntime().availableProcessors();
+		textSymbols = false;
+		timings = false;
+		stats = false;
+		statsJson = null;
+		traceFile = null;
+		lowMemory = false;
+		dumpAst = false;
+		PhaseTimer.reset();
+		BuildStats.reset();
+		Tracer.reset();
+
 		ArrayList<String> fileNames = new ArrayList<>();
 
 		for (int i = 0; i < args.length; i++)
@@ -58,11 +164,50 @@ public class Main
 				case "--version":
 					printVersion();
 					break;
+				case "-j":
+				case "--jobs":
+					i++;
+					jobs = Math.max(1, Integer.parseInt(args[i]));
+					break;
+				case "--text-sym":
+					textSymbols = true;
+					break;
+				case "--timings":
+					timings = true;
+					break;
+				case "--stats":
+					stats = true;
+					break;
+				case "--stats-json":
+					i++;
+					statsJson = new File(args[i]);
+					break;
+				case "--trace":
+					i++;
+					traceFile = new File(args[i]);
+					break;
+				case "--low-memory":
+					lowMemory = true;
+					break;
+				case "--dump-ast":
+					dumpAst = true;
+					break;
 				default:
 					fileNames.add(arg);
 			}
 		}
 
+		// Only pay for the counters and the detailed measures when somebody is going to look at them. //
+		BuildStats.enabled = stats || statsJson != null;
+		PhaseTimer.detailed = BuildStats.enabled;
+		Tracer.enabled = traceFile != null;
+		Tracer.begin("build", null);
+
+		// A compile server runs many builds, only the errors of this one count. //
+		int errorsBefore = ErrorPrint.errorCount.get();
+
+		FileCompiler.beginBuild();
+
 		ASTClass root = new ASTClass("root", null);
 		FileCompiler.importFile(Syntax.ReservedNames.OBJECT_CLASS + FILE_EXTENSION, root);
 		//ASTClass objectClass = new ASTClass(Syntax.ReservedNames.OBJECT_CLASS, root);
@@ -71,13 +216,70 @@ public class Main
 		//polishObject.polishClassCreateConstructor();
 		//polishObject.forceConstructorsCallSuper();
 
-		for (String file : fileNames)
+		boolean failed = false;
+		if (jobs > 1)
+		{
+			failed = !new BuildScheduler(root, jobs).build(fileNames);
+		}
+		else
+		{
+			for (String file : fileNames)
+			{
+				FileCompiler.importFile(file, root);
+			}
+		}
+
+		if (dumpAst)
 		{
-			FileCompiler.importFile(file, root);
+			IndentPrinter printer = new IndentPrinter(System.out);
+			root.debugSelf(printer);
+		}
+
+		// Make sure that everything has been written before exiting. //
+		Tracer.begin("finishWriting", null);
+		List<IOException> writeErrors = outputWriter.finish();
+		Tracer.end();
+		Tracer.end();
+		for (IOException e : writeErrors)
+		{
+			System.err.println("ERROR: Could not write output: " + e);
+		}
+		if (!writeErrors.isEmpty() || failed || ErrorPrint.errorCount.get() != errorsBefore)
+			return 1;
+
+		if (timings)
+			PhaseTimer.report(System.err);
+
+		if (stats)
+			BuildStats.report(System.err);
+
+		if (statsJson != null)
+		{
+			try
+			{
+				BuildStats.writeJson(statsJson);
+			}
+			catch (IOException e)
+			{
+				System.err.println("ERROR: Could not write the stats: " + e);
+			}
+		}
+
+		if (traceFile != null)
+		{
+			try
+			{
+				Tracer.write(traceFile);
+			}
+			catch (IOException e)
+			{
+				System.err.println("ERROR: Could not write the trace: " + e);
+			}
 		}
 
-		IndentPrinter printer = new IndentPrinter(System.out);
-		root.debugSelf(printer);
+		// Only remember the build once its output is safe on disk. //
+		FileCompiler.finishBuild();
+		return 0;
 	}
 
 	private static void printVersion()
@@ -91,5 +293,15 @@ public class Main
 		System.out.println("\t-o / --output:\t\tSpecify the output file");
 		System.out.println("\t-h / --help\t\tCall help command");
 		System.out.println("\t-v / --version\t\tCurrent version of the compiler.");
+		System.out.println("\t-j / --jobs\t\tHow many classes to compile in parallel.");
+		System.out.println("\t--text-sym\t\tWrite .sym files as readable text.");
+		System.out.println("\t--timings\t\tPrint how long each phase of the compilation took.");
+		System.out.println("\t--stats\t\t\tPrint the time, CPU time and allocations of every phase and class, and counters.");
+		System.out.println("\t--stats-json\t\tWrite the same stats as JSON to a file.");
+		System.out.println("\t--trace\t\t\tWrite a trace of every phase of every class to a file, for chrome://tracing.");
+		System.out.println("\t--low-memory\t\tOnly keep the signatures of a class once its output has been written.");
+		System.out.println("\t--dump-ast\t\tPrint the AST of every class once the build is done.");
+		System.out.println("\t--server\t\tKeep running and compile whenever a line of arguments is read from stdin.");
+		System.out.println("\t--watch\t\t\tKeep running and rebuild whenever a source in the package path changes.");
 	}
 }
\ No newline at end of file
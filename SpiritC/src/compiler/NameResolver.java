@@ -0,0 +1,58 @@
+package compiler;
+
+import compiler.ast.*;
+
+/**
+ * Binds every path (ASTVariableUsage and ASTMemberAccess) in a class to its declaration.
+ * The paths cache what they are bound to, so the checker and the backends only need to read it.
+ * A path is bound again if its class is edited afterwards.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+public class NameResolver extends ASTVisitor
+{
+	private ASTClass astClass;
+
+	public NameResolver(ASTClass astClass)
+	{
+		this.astClass = astClass;
+	}
+
+	/**
+	 * Binds all paths in the class.
+	 */
+	public void resolveClass()
+	{
+		astClass.accept(this);
+	}
+
+	@Override
+	public void visitVariableUsage(ASTVariableUsage astVariableUsage)
+	{
+		resolve(astVariableUsage);
+	}
+
+	@Override
+	public boolean visitMemberAccess(ASTMemberAccess astMemberAccess)
+	{
+		resolve(astMemberAccess);
+		return true;
+	}
+
+	/**
+	 * Binds a path. Member accesses are only bound if the object they access could be bound.
+	 * @param path The path to bind.
+	 * @return The declaration. Null if not found.
+	 */
+	private ASTBase resolve(ASTPath path)
+	{
+		if (path instanceof ASTMemberAccess)
+		{
+			ASTBase ofObject = resolve(((ASTMemberAccess) path).ofObject);
+			if (ofObject == null || ofObject.getExpressionType() == null)
+				return null;
+		}
+		return path.getDeclaration();
+	}
+}
@@ -1,6 +1,5 @@
 package compiler;
 
-import com.sun.istack.internal.Nullable;
 import compiler.ast.*;
 import compiler.builtins.Builtins;
 import compiler.builtins.FileType;
@@ -8,7 +7,7 @@ import compiler.ast.ASTChildList.ListKey;
 
 import java.io.PrintStream;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 
 import static compiler.Token.TokenType;
 
@@ -74,26 +73,35 @@ public class Parser
 
 
 	/**
-	 * A list of the precedence values for each operator.
+	 * Marks a kind that isn't a binary operator in {@link #operatorPrecedence}.
 	 */
-	private static final HashMap<String, Integer> operatorPrecedenceMap = new HashMap<String, Integer>(){{
-		// FIXME: Complete the map!
+	private static final int NO_PRECEDENCE = -1;
 
-		put(".",  0);
+	/**
+	 * The precedence values for each operator, indexed by the ordinal of its TokenKind.
+	 */
+	private static final int[] operatorPrecedence = new int[TokenKind.values().length];
 
-		put("==", 1);
-		put("=",  1);
+	static
+	{
+		// FIXME: Complete the table!
+		Arrays.fill(operatorPrecedence, NO_PRECEDENCE);
 
-		put(">",  2);
-		put("<",  2);
+		operatorPrecedence[TokenKind.ACCESS.ordinal()]	= 0;
 
+		operatorPrecedence[TokenKind.EQU.ordinal()]		= 1;
+		operatorPrecedence[TokenKind.ASSIGN.ordinal()]	= 1;
 
-		put("+",  3);
-		put("-",  3);
+		operatorPrecedence[TokenKind.GREATER.ordinal()]	= 2;
+		operatorPrecedence[TokenKind.LESS.ordinal()]	= 2;
 
-		put("*",  4);
-		put("/",  4);
-	}};
+
+		operatorPrecedence[TokenKind.ADD.ordinal()]		= 3;
+		operatorPrecedence[TokenKind.SUB.ordinal()]		= 3;
+
+		operatorPrecedence[TokenKind.MUL.ordinal()]		= 4;
+		operatorPrecedence[TokenKind.DIV.ordinal()]		= 4;
+	}
 
 	/**
 	 * Returns true if the token is a fundamental type.
@@ -186,19 +194,20 @@ public class Parser
 		while (look(0,TokenType.OPERATOR))
 		{
 			// Find the operator in the table as well as name;
+			TokenKind opKind = lookAheads[0].kind;
 			String opName = lookAheads[0].value;
+			int opPrecedence = operatorPrecedence[opKind.ordinal()];
 
 			// Make sure that the operator exists in the precedence table. //
-			if (!operatorPrecedenceMap.containsKey(opName))
+			if (opPrecedence == NO_PRECEDENCE)
 			{
 				System.err.println("COMPILER ERROR! Table does not contain precedence value of operator "
 						+ lookAheads[0].value);
 				return null;
 			}
-			int opPrecedence = operatorPrecedenceMap.get(opName);
 			step();
 
-			if (opName.equals(".") && left instanceof ASTPath)
+			if (opKind == TokenKind.ACCESS && left instanceof ASTPath)
 			{
 				String memberName = lookAheads[0].value;
 				step();
@@ -212,7 +221,7 @@ public class Parser
 				ASTBase right = parsePrimary(null, null);
 				while (look(0, TokenType.OPERATOR))
 				{
-					int otherPrecedence = operatorPrecedenceMap.get(lookAheads[0].value);
+					int otherPrecedence = operatorPrecedence[lookAheads[0].kind.ordinal()];
 					if (otherPrecedence > opPrecedence)
 					{
 						right = parseOpExpression(key, right, opPrecedence, parent);
@@ -298,7 +307,7 @@ public class Parser
 
 	private SpiritType parseType(ASTParent perspective, boolean isFunctionType)
 	{
-		if (match(Syntax.Op.TYPEDEF) || isFunctionType)
+		if (match(TokenKind.TYPEDEF) || isFunctionType)
 		{
 			if (match(TokenType.SYMBOL))
 			{
@@ -329,20 +338,20 @@ public class Parser
 			else
 			{
 				ASTVariableDeclaration variableDeclaration =
-						new ASTVariableDeclaration(ListKey.BODY, parent, name, Builtins.getBuiltin("function"), null);
+						new ASTVariableDeclaration(ListKey.BODY, parent, name, Builtins.FUNCTION, null);
 				group = new ASTFunctionGroup(ListKey.VALUE, variableDeclaration, name);
 				if (previous.tokenType == TokenType.OPERATOR || name.equals(Syntax.ReservedNames.SELF))
 					group.operatorOverload = true;
 			}
 
 			ASTFunctionDeclaration function =
-					new ASTFunctionDeclaration(ListKey.BODY, group, Builtins.getBuiltin("void"));
+					new ASTFunctionDeclaration(ListKey.BODY, group, Builtins.VOID);
 
 			// Check that we specify the return type of the function (and the parameters). //
-			if (match(Syntax.Op.TYPEDEF))
+			if (match(TokenKind.TYPEDEF))
 			{
 				// Check if we have generics. //
-				if (match(Syntax.Op.GENERIC_START))
+				if (match(TokenKind.GENERIC_START))
 				{
 					ArrayList<String> generics = new ArrayList<>();
 
@@ -351,7 +360,7 @@ public class Parser
 						generics.add(previous.value);
 					}
 
-					if (!match(Syntax.Op.GENERIC_END))
+					if (!match(TokenKind.GENERIC_END))
 					{
 						error.syntaxError("]", "Expected function declaration generics terminator.");
 						return null;
@@ -377,7 +386,7 @@ public class Parser
 						if (match(TokenType.SYMBOL))
 						{
 							String argName = previous.value;
-							if (look(0, Syntax.Op.TYPEDEF))
+							if (look(0, TokenKind.TYPEDEF))
 							{
 								SpiritType argType = parseType(parent);
 
@@ -393,12 +402,12 @@ public class Parser
 								new ASTVariableDeclaration(ListKey.ARGS, function, argName, argType, null);
 								specifiedAnyArguments = true;
 							}
-							else if (look(0, Syntax.Op.ARG_SEP) || look(0, TokenType.RPAR))
+							else if (look(0, TokenKind.ARG_SEP) || look(0, TokenType.RPAR))
 							{
 								unspecifiedParams.add(argName);
 							}
 						}
-					} while (match(Syntax.Op.ARG_SEP));
+					} while (match(TokenKind.ARG_SEP));
 
 					if (!unspecifiedParams.isEmpty())
 					{
@@ -437,9 +446,9 @@ public class Parser
 					}
 					else
 					{
-						function.returnType = Builtins.getBuiltin("void");
+						function.returnType = Builtins.VOID;
 					}
-					if (look(0, Syntax.Op.RETURN))
+					if (look(0, TokenKind.ASSIGN))
 					{
 						ASTReturnExpression call = parseReturnExpression(function);
 					}
@@ -471,7 +480,7 @@ public class Parser
 	 */
 	private ASTReturnExpression parseReturnExpression(ASTParent parent)
 	{
-		if (match(Syntax.Op.RETURN))
+		if (match(TokenKind.ASSIGN))
 		{
 			ASTReturnExpression returnExpression = new ASTReturnExpression(ListKey.BODY, parent);
 
@@ -494,14 +503,14 @@ public class Parser
 		if (match(TokenType.SYMBOL))
 		{
 			String name = previous.value;
-			if (look(0, Syntax.Op.TYPEDEF))
+			if (look(0, TokenKind.TYPEDEF))
 			{
 				SpiritType spiritType = parseType(parent);
 				ASTBase value = null;
 				ASTVariableDeclaration declaration = new ASTVariableDeclaration(ListKey.BODY, parent, name, spiritType, null);
 
 				// Try to parse initial value. //
-				if (match("="))
+				if (match(TokenKind.ASSIGN))
 				{
 					value = parseExpression(ListKey.VALUE, declaration);
 
@@ -531,7 +540,7 @@ public class Parser
 	private boolean parseFileTypeDeclarationLine(ASTParent parent)
 	{
 		// Skip indentation . //
-		if (look(1, Syntax.Keyword.TYPE))
+		if (look(1, TokenKind.TYPE))
 			match(TokenType.INDENT); // FIXME: Uh eh... what?
 
 		// Skip any empty lines.
@@ -540,7 +549,7 @@ public class Parser
 			return true;
 		}
 
-		if (match(Syntax.Keyword.TYPE))
+		if (match(TokenKind.TYPE))
 		{
 			if (match(TokenType.SYMBOL))
 			{
@@ -566,39 +575,39 @@ public class Parser
 	// FIXME: Loops do not work
 	private ASTLoop parseLoop(ASTParent parent)
 	{
-		if (match(Syntax.Keyword.LOOP))
+		if (match(TokenKind.LOOP))
 		{
 			ASTLoop loop = new ASTLoop(ListKey.BODY, parent);
-			if (look(1, Syntax.Op.TYPEDEF)
+			if (look(1, TokenKind.TYPEDEF)
 					&& !look(2, TokenType.NEWLINE))
 				loop.initialStatement = parseVariableDeclaration(loop);
 			else
 				loop.initialStatement = parseExpression(ListKey.FOR_INIT, loop);
 
-			if (match(","))
+			if (match(TokenKind.ARG_SEP))
 			{
 				loop.conditionalStatement = parseExpression(ListKey.FOR_CONDITION, loop);
-				if (match(","))
+				if (match(TokenKind.ARG_SEP))
 				{
 					loop.iterationalStatement = parseExpression(ListKey.FOR_ITERATIONAL, loop);
 				}
 			}
 
 			// TODO: Add as syntax.
-			else if (match("as"))
+			else if (match(TokenKind.AS))
 			{
 				System.out.println("Not implemented yet");
 			}
 			else
 			{
 				ASTBase until = loop.initialStatement;
-				if (until.getExpressionType() != Builtins.getBuiltin("int"))
+				if (until.getExpressionType() != Builtins.INT)
 				{
 					error.syntaxError("int", "Can only loop without index with type \"int\".");
 					return null;
 				}
 				final String counterName = "__c_counter";
-				loop.initialStatement = new ASTVariableDeclaration(ListKey.FOR_INIT, loop, counterName, Builtins.getBuiltin("int"), until);
+				loop.initialStatement = new ASTVariableDeclaration(ListKey.FOR_INIT, loop, counterName, Builtins.INT, until);
 
 				loop.conditionalStatement = new ASTOperator(ListKey.FOR_CONDITION, loop, ">",
 						new ASTVariableUsage(ListKey.BODY, parent, counterName),
@@ -622,7 +631,7 @@ public class Parser
 
 	private boolean parseExtendDeclaration(ASTClass astClass)
 	{
-		if (match(Syntax.Keyword.EXTENDS))
+		if (match(TokenKind.EXTENDS))
 		{
 			if (match(TokenType.SYMBOL))
 			{
@@ -645,7 +654,7 @@ public class Parser
 	{
 		StringBuilder path = new StringBuilder(lookAheads[0].value);
 		step();
-		while(match("."))
+		while(match(TokenKind.ACCESS))
 		{
 			path.append(".");
 			path.append(lookAheads[0].value);
@@ -660,7 +669,7 @@ public class Parser
 	{
 		String packageName;
 		String[] packageSymbols;
-		if (match(Syntax.Keyword.IMPORT))
+		if (match(TokenKind.IMPORT))
 		{
 			if (look(0, TokenType.SYMBOL))
 			{
@@ -673,13 +682,13 @@ public class Parser
 				return false;
 			}
 		}
-		else if (match(Syntax.Keyword.FROM))
+		else if (match(TokenKind.FROM))
 		{
 			if (look(0, TokenType.SYMBOL))
 			{
 				packageName = parseImportPath();
 				ArrayList<String> files = new ArrayList<>();
-				if (match(Syntax.Keyword.IMPORT))
+				if (match(TokenKind.IMPORT))
 				{
 					do
 					{
@@ -687,7 +696,7 @@ public class Parser
 						{
 							files.add(previous.value);
 						}
-					} while (match(Syntax.Op.ARG_SEP));
+					} while (match(TokenKind.ARG_SEP));
 				}
 
 				if (files.isEmpty())
@@ -725,7 +734,7 @@ public class Parser
 	private String[] parseGenerics ()
 	{
 		// Check if we have generics. //
-		if (match(Syntax.Op.GENERIC_START))
+		if (match(TokenKind.GENERIC_START))
 		{
 			ArrayList<String> generics = new ArrayList<>();
 
@@ -743,7 +752,7 @@ public class Parser
 			}
 
 			// Make sure that they terminate the generics with a propper generic end operator. //
-			if (match(Syntax.Op.GENERIC_END))
+			if (match(TokenKind.GENERIC_END))
 			{
 				String[] arrayGenerics = new String[generics.size()];
 				arrayGenerics = generics.toArray(arrayGenerics);
@@ -790,83 +799,92 @@ public class Parser
 			return false;
 		}
 
-		// Check if we are extending a class. //
-		if (look(0, Syntax.Keyword.EXTENDS))
+		// Keywords and operators that start a line decide what kind of line it is,       //
+		// unless they are the name of something that is declared, e.g "from : int".      //
+		// Like before, "if", "else" and "loop" can only name functions, and "extends"    //
+		// and the class generics nothing at all.                                          //
+		TokenKind lineKind = lookAheads[0].kind;
+		boolean functionDeclaration = (look(0, TokenType.SYMBOL) || look(0, TokenType.OPERATOR))
+				&& look(1, TokenKind.TYPEDEF)
+				&& (look(2, TokenType.LPAR) || look(2, TokenKind.GENERIC_START));
+		boolean variableDeclaration = look(0, TokenType.SYMBOL) && look(1, TokenKind.TYPEDEF);
+		if (lineKind != TokenKind.EXTENDS && lineKind != TokenKind.CLASS_GENERICS
+				&& (functionDeclaration || variableDeclaration
+						&& lineKind != TokenKind.IF && lineKind != TokenKind.ELSE && lineKind != TokenKind.LOOP))
+			lineKind = TokenKind.NONE;
+
+		switch (lineKind)
 		{
-			return parseExtendDeclaration(dest);
-		}
+			// Check if we are extending a class. //
+			case EXTENDS:
+				return parseExtendDeclaration(dest);
 
-		// Check if we are declaring the generics of the class
-		else if (match(Syntax.Keyword.CLASS_GENERICS))
-		{
-			return dest.generics == null && (dest.generics = parseGenerics()) != null;
-		}
-		// Check if we are defining a function. //
-		else if (
-					(look(0, TokenType.SYMBOL) || look(0, TokenType.OPERATOR))
-				  && look(1, Syntax.Op.TYPEDEF)
-				  && (look(2, TokenType.LPAR) || look(2, Syntax.Op.GENERIC_START)))
-		{
-			newAST = parseFunctionDeclaration(parent);
-		}
-		else if (match(Syntax.Keyword.IF))
-		{
-			newAST = new ASTIf(ListKey.BODY, parent);
-			parseExpression(ListKey.CONDITION, (ASTParent) newAST);
+			// Check if we are declaring the generics of the class
+			case CLASS_GENERICS:
+				step();
+				return dest.generics == null && (dest.generics = parseGenerics()) != null;
 
-		}
-		else if (match(Syntax.Keyword.ELSE))
-		{
-			newAST = new ASTElse(parent);
-		}
+			case IF:
+				step();
+				newAST = new ASTIf(ListKey.BODY, parent);
+				parseExpression(ListKey.CONDITION, (ASTParent) newAST);
+				break;
 
-		else if (look(0, Syntax.Keyword.LOOP))
-		{
-			newAST = parseLoop(parent);
-		}
+			case ELSE:
+				step();
+				newAST = new ASTElse(parent);
+				break;
 
-		// Try to parse as a variable declaration. //
+			case LOOP:
+				newAST = parseLoop(parent);
+				break;
 
-		else if (look(0, TokenType.SYMBOL)
-				&& look(1, Syntax.Op.TYPEDEF))
-		{
-			newAST = parseVariableDeclaration(parent);
-		}
+			// Check if it contains the keyword "type" to see if we can see what type it is. //
+			case TYPE:
+				step();
+				// Error. //
+				error.unexpectedExpressionError("", previous.value, "File type has already been declared, was not expecting another declaration");
+				return false;
 
-		// Check if it contains the keyword "type" to see if we can see what type it is. //
-		else if (match(Syntax.Keyword.TYPE))
-		{
-			// Error. //
-			error.unexpectedExpressionError("", previous.value, "File type has already been declared, was not expecting another declaration");
-			return false;
-		}
+			// Check if it is an import expression. //
+			case IMPORT:
+			case FROM:
+				return parseImportExpression(dest);
 
-		// Check if it is an import expression. //
-		else if (look (0, Syntax.Keyword.IMPORT) || look (0,Syntax.Keyword.FROM))
-		{
-			return parseImportExpression(dest);
-		}
+			// Check if we have a return expression. //
+			case ASSIGN:
+				newAST = parseReturnExpression(parent);
+				break;
 
-		// Check if we have a return expression. //
-		else if (look (0, Syntax.Op.RETURN))
-		{
-			newAST = parseReturnExpression(parent);
-		}
+			// Check if we are defining a function. //
+			default:
+				if (functionDeclaration)
+				{
+					newAST = parseFunctionDeclaration(parent);
+				}
 
-		// Check if we have an inline expression. //
-		else if (look(0, TokenType.INLINE))
-		{
-			// Get the code. //
-			String code = lookAheads[0].value;
-			step();
-			newAST = new ASTInline(ListKey.BODY, parent, code);
-			return true;
-		}
+				// Try to parse as a variable declaration. //
+				else if (variableDeclaration)
+				{
+					newAST = parseVariableDeclaration(parent);
+				}
 
-		// Otherwise it's just an expression. //
-		else
-		{
-			newAST = parseExpression(ListKey.BODY, parent);
+				// Check if we have an inline expression. //
+				else if (look(0, TokenType.INLINE))
+				{
+					// Get the code. //
+					String code = lookAheads[0].value;
+					step();
+					newAST = new ASTInline(ListKey.BODY, parent, code);
+					return true;
+				}
+
+				// Otherwise it's just an expression. //
+				else
+				{
+					newAST = parseExpression(ListKey.BODY, parent);
+				}
+				break;
 		}
 
 		if (newAST != null)
@@ -915,7 +933,6 @@ public class Parser
 	 * @param name The name of the type we are searching for.
 	 * @return The found type. Null if not found.
 	 */
-	@Nullable
 	private SpiritType findType(ASTParent perspective, String name)
 	{
 		// FIXME: Is this really the best place?
@@ -953,15 +970,15 @@ public class Parser
 	}
 
 	/**
-	 * Matches and steps the value with lookAheads[0].
+	 * Matches and steps the keyword or operator with lookAheads[0].
 	 * Only steps if the match returns true.
 	 *
-	 * @param value To check against.
-	 * @return True if we matched the values.
+	 * @param kind To check against.
+	 * @return True if we matched the kinds.
 	 */
-	private boolean match(String value)
+	private boolean match(TokenKind kind)
 	{
-		if (value.equals(lookAheads[0].value))
+		if (kind == lookAheads[0].kind)
 		{
 			step();
 			return true;
@@ -969,16 +986,6 @@ public class Parser
 		return false;
 	}
 
-	/**
-	 * Overload of {@link #match(String)} but with characters
-	 * @param value	To check against.
-	 * @return True if we matched results.
-	 */
-	private boolean match(char value)
-	{
-		return match("" + value);
-	}
-
 	/**
 	 * Matches and steps the value with lookAheads[0].
 	 * @param value To check against.
@@ -996,31 +1003,17 @@ public class Parser
 
 	/**
 	 * Returns true if the look ahead ( + index) matches.
-	 * Like {@link #match(String)} but without calling {@link #step()}.
-	 * We can also specify a index which allow us to look farther than just look ahead.
-	 * @param index The index is used when accessing the lookAheads array.
-	 * @param value The value to check against.
-	 * @return True if the values match.
-	 */
-	private boolean look(int index, String value)
-	{
-		return lookAheads[index].value.equals(value);
-	}
-
-	/**
-	 * Returns true if the look ahead ( + index) matches. (alternative to work with chars)
-	 * Like {@link #match(String)} but without calling {@link #step()}.
+	 * Like {@link #match(TokenKind)} but without calling {@link #step()}.
 	 * We can also specify a index which allow us to look farther than just look ahead.
 	 * @param index The index is used when accessing the lookAheads array.
-	 * @param value The value to check against.
-	 * @return True if the values match.
+	 * @param kind The keyword or operator to check against.
+	 * @return True if the kinds match.
 	 */
-	private boolean look(int index, char value)
+	private boolean look(int index, TokenKind kind)
 	{
-		return look(index, "" + value);
+		return lookAheads[index].kind == kind;
 	}
 
-
 	/**
 	 * Returns true if the look ahead ( + index) matches.
 	 * Like {@link #match(TokenType)} but without calling {@link #step()}.
@@ -2,6 +2,7 @@ package compiler;
 
 import compiler.ast.*;
 import compiler.builtins.Builtins;
+import compiler.lib.SymbolFile;
 
 import java.util.ArrayList;
 
@@ -9,6 +10,7 @@ import static compiler.Token.TokenType;
 
 /**
  * Parses .sym files.
+ * Both the text format and the binary format (see SymbolFile) are understood.
  *
  * @author Tyrerexus
  * @date 5/4/17.
@@ -20,6 +22,11 @@ public class ParserSYM
 	private Token[] lookAheads = new Token[3];
 	private ArrayList<ASTVariableDeclaration> freeArgs = new ArrayList<>();
 
+	/**
+	 * The binary symbol file to read from. Null when reading text from the lexer.
+	 */
+	private SymbolFile symbolFile = null;
+
 	/**
 	 * Creates a Parser that will read from a lexer.
 	 * @param lexer The lexer to read from.
@@ -33,10 +40,22 @@ public class ParserSYM
 		}
 	}
 
+	/**
+	 * Creates a Parser that will read from an already loaded binary symbol file.
+	 * @param symbolFile The symbol file to read from.
+	 */
+	public ParserSYM(SymbolFile symbolFile)
+	{
+		this.symbolFile = symbolFile;
+	}
+
 	private SpiritType parseType(ASTParent perspective)
 	{
-		String name = grab();
+		return findType(perspective, grab());
+	}
 
+	private SpiritType findType(ASTParent perspective, String name)
+	{
 		ASTBase f = perspective.findSymbol(name);
 		if (f instanceof ASTClass)
 			return (ASTClass) f;
@@ -88,39 +107,20 @@ public class ParserSYM
 			}
 			case "Arg":
 			{
-				// Appends an argument to the argument pool. Later used by a function declaration. //
-
 				String name = grab();
-				SpiritType spiritType = parseType(dest);
-				// FIXME:  Should args really have no parent?
-				freeArgs.add(new ASTVariableDeclaration(ASTChildList.ListKey.ARGS, null, name, spiritType, null));
+				addArg(name, parseType(dest));
 				break;
 			}
 			case "Fun":
 			{
 				String name = grab();
-				SpiritType spiritType = parseType(dest);
-				ASTVariableDeclaration varDecl = new ASTVariableDeclaration(ASTChildList.ListKey.BODY, dest, name, Builtins.getBuiltin("function"), null);
-				ASTFunctionGroup group = new ASTFunctionGroup(ASTChildList.ListKey.VALUE, varDecl, name);
-				ASTFunctionDeclaration fun = new ASTFunctionDeclaration(ASTChildList.ListKey.BODY, group, spiritType);
-
-				//fun.args = freeArgs;
-				//freeArgs = new ArrayList<>();
-				//for (ASTVariableDeclaration var : fun.args)
-				//var.setParent(fun);
-				// That was some truly badly written code. Tihi /tyrerexus
-
-				for (ASTVariableDeclaration arg : freeArgs)
-					arg.setParent(ASTChildList.ListKey.ARGS, fun);
-
-
+				addFun(dest, name, parseType(dest));
 				break;
 			}
 			case "Var":
 			{
 				String name = grab();
-				SpiritType spiritType = parseType(dest);
-				new ASTVariableDeclaration(ASTChildList.ListKey.BODY, dest, name, spiritType, null);
+				addVar(dest, name, parseType(dest));
 				break;
 			}
 			case "Dependency":
@@ -139,14 +139,96 @@ public class ParserSYM
 		return true;
 	}
 
+	/**
+	 * Adds a record of a binary symbol file to the class.
+	 * @param dest The class being loaded.
+	 * @param record The record to add.
+	 */
+	private void parseRecord(ASTClass dest, SymbolFile.Record record)
+	{
+		// The names are shared with the rest of the compilation, just like the names the lexer reads. //
+		String name = SymbolInterner.internName(record.values[0]);
+		switch (record.type)
+		{
+			case ExtendsClass:
+				dest.extendsClass = name;
+				break;
+			case Arg:
+				addArg(name, findType(dest, record.values[1]));
+				break;
+			case Fun:
+				addFun(dest, name, findType(dest, record.values[1]));
+				break;
+			case Var:
+				addVar(dest, name, findType(dest, record.values[1]));
+				break;
+			case Dependency:
+				dest.importClass(name, new String[] {"*"});
+				break;
+			default:
+				// ClassName and CompilerVersion are not important right now. //
+		}
+	}
+
+	/**
+	 * Appends an argument to the argument pool. Later used by a function declaration.
+	 */
+	private void addArg(String name, SpiritType spiritType)
+	{
+		// FIXME:  Should args really have no parent?
+		freeArgs.add(new ASTVariableDeclaration(ASTChildList.ListKey.ARGS, null, name, spiritType, null));
+	}
+
+	private void addFun(ASTClass dest, String name, SpiritType spiritType)
+	{
+		// Overloads are written one after another, and belong in the same group. //
+		ASTFunctionGroup group;
+		ASTBase declared = dest.children.findDeclaration(name);
+		if (declared instanceof ASTVariableDeclaration
+				&& ((ASTVariableDeclaration) declared).getValue() instanceof ASTFunctionGroup)
+			group = (ASTFunctionGroup) ((ASTVariableDeclaration) declared).getValue();
+		else
+		{
+			ASTVariableDeclaration varDecl = new ASTVariableDeclaration(ASTChildList.ListKey.BODY, dest, name, Builtins.FUNCTION, null);
+			group = new ASTFunctionGroup(ASTChildList.ListKey.VALUE, varDecl, name);
+		}
+		ASTFunctionDeclaration fun = new ASTFunctionDeclaration(ASTChildList.ListKey.BODY, group, spiritType);
+
+		//fun.args = freeArgs;
+		//freeArgs = new ArrayList<>();
+		//for (ASTVariableDeclaration var : fun.args)
+		//var.setParent(fun);
+		// That was some truly badly written code. Tihi /tyrerexus
+
+		for (ASTVariableDeclaration arg : freeArgs)
+			arg.setParent(ASTChildList.ListKey.ARGS, fun);
+
+		// The next function has arguments of its own. //
+		freeArgs.clear();
+	}
+
+	private void addVar(ASTClass dest, String name, SpiritType spiritType)
+	{
+		new ASTVariableDeclaration(ASTChildList.ListKey.BODY, dest, name, spiritType, null);
+	}
+
 	public boolean parseFile(ASTClass dest)
 	{
+		if (symbolFile != null)
+		{
+			for (SymbolFile.Record record : symbolFile.getRecords())
+			{
+				parseRecord(dest, record);
+			}
+			return true;
+		}
+
 		while (parseLine(dest))
 			;
 		if (match(TokenType.EOF))
 			return true;
 
-		System.err.println("ERROR: Corrupted .sym file!");
+		ErrorPrint.displayError("ERROR: Corrupted .sym file!");
 		return false;
 	}
 
@@ -32,9 +32,9 @@ public class Polisher
 	public void polishClassCreateConstructor()
 	{
 		ASTVariableDeclaration v = new ASTVariableDeclaration(ListKey.BODY, astClass,
-				Syntax.ReservedNames.CONSTRUCTOR, Builtins.getBuiltin("function"), null);
+				Syntax.ReservedNames.CONSTRUCTOR, Builtins.FUNCTION, null);
 		ASTFunctionGroup group = new ASTFunctionGroup(ListKey.VALUE, v, Syntax.ReservedNames.CONSTRUCTOR);
-		new ASTFunctionDeclaration(ListKey.BODY, group, Builtins.getBuiltin("void"));
+		new ASTFunctionDeclaration(ListKey.BODY, group, Builtins.VOID);
 	}
 
 	/**
@@ -98,7 +98,8 @@ public class Polisher
 
 
 
-		for (ASTBase child : astClass.children.getAll())
+		// The calls that are inserted edit the class while we walk it. //
+		for (ASTBase child : astClass.children.getAllCopy())
 		{
 			if (child instanceof ASTVariableDeclaration
 					&& ((ASTVariableDeclaration)child).isFunctionDeclaration())
@@ -1,7 +1,6 @@
 package compiler;
 
 import compiler.ast.ASTBase;
-import sun.security.provider.ConfigFile;
 
 import java.util.ArrayList;
 
@@ -18,6 +17,11 @@ public interface SpiritType
 	ASTBase getChildByName(String name);
 	SpiritType getSuperType();
 
+	/**
+	 * @return The info the TypeRegistry keeps about this type. Created once together with the type.
+	 */
+	TypeRegistry.TypeInfo getTypeInfo();
+
 	/**
 	 * Checks if a variable of type <code>type</code> can be assigned from <code>assignTo</code>
 	 * @param type The type of the variable.
@@ -26,13 +30,6 @@ public interface SpiritType
 	 */
 	static boolean isAssignableFrom(SpiritType type, SpiritType assignTo)
 	{
-
-		for (SpiritType currentCheck = assignTo; currentCheck != null; currentCheck = currentCheck.getSuperType())
-		{
-			if (type == currentCheck)
-				return true;
-		}
-
-		return false;
+		return TypeRegistry.isSubtype(type, assignTo);
 	}
 }
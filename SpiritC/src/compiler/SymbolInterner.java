@@ -0,0 +1,167 @@
+package compiler;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives every identifier, keyword and operator one canonical instance for the build.
+ *
+ * Tokens and AST names that are spelled the same share the same String, so they can be compared by identity
+ * and are only held in memory once. Whether a word is a keyword or a textual operator is worked out once,
+ * when the word is first seen.
+ *
+ * The table is seeded with the constants in Syntax and the parentheses, so a token of a keyword is the very
+ * same String as the constant, e.g <code>token.value == Syntax.Keyword.IMPORT</code>.
+ * Number literals are not interned, there is no end to them.
+ *
+ * Call {@link #reset()} before every build, so that a compile server doesn't keep every word it has ever seen.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+public class SymbolInterner
+{
+	/**
+	 * A canonical word.
+	 */
+	public static class Symbol
+	{
+		/** The word as it was written. */
+		public final String text;
+
+		/** If the word is a keyword. See Syntax.isKeyword(). */
+		public final boolean isKeyword;
+
+		/**
+		 * What a symbol token with this text turns into. OPERATOR for textual operators such as "is".
+		 */
+		public final Token.TokenType symbolType;
+
+		/**
+		 * The symbol that a symbol token with this text turns into.
+		 * The operator for textual operators such as "is". Otherwise this symbol itself.
+		 */
+		public final Symbol canonical;
+
+		/** Which keyword or operator the word is. NONE for everything else. */
+		public final TokenKind kind;
+
+		private Symbol(String text)
+		{
+			this.text = text;
+			this.isKeyword = Syntax.isKeyword(text);
+			this.kind = TokenKind.of(text);
+
+			if (Syntax.isOperator(text))
+			{
+				// "not" is its own operator. //
+				String operator = Syntax.getOperator(text);
+				this.symbolType = Token.TokenType.OPERATOR;
+				this.canonical = operator.equals(text) ? this : intern(operator);
+			}
+			else
+			{
+				this.symbolType = Token.TokenType.SYMBOL;
+				this.canonical = this;
+			}
+		}
+
+		@Override
+		public String toString()
+		{
+			return text;
+		}
+	}
+
+	private static final ConcurrentHashMap<String, Symbol> symbols = new ConcurrentHashMap<>();
+
+	/**
+	 * The symbols of the constants in Syntax and of the parentheses. They are kept across builds.
+	 */
+	private static final Map<String, Symbol> seeded;
+
+	static
+	{
+		seed(Syntax.class);
+
+		// The lexer keeps the symbols of its parentheses in constants, so they must survive a reset. //
+		intern("(");
+		intern(")");
+		seeded = new HashMap<>(symbols);
+	}
+
+	/**
+	 * Forgets every word except the seeded ones, e.g before the next build of the compile server.
+	 * Only call it while nothing is being lexed.
+	 */
+	public static void reset()
+	{
+		symbols.clear();
+		symbols.putAll(seeded);
+	}
+
+	/**
+	 * Adds all String constants of a class and its nested classes to the table.
+	 * @param from The class to take the constants from.
+	 */
+	private static void seed(Class<?> from)
+	{
+		for (Field field : from.getDeclaredFields())
+		{
+			int modifiers = field.getModifiers();
+			if (field.getType() == String.class && Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers))
+			{
+				try
+				{
+					intern((String) field.get(null));
+				}
+				catch (IllegalAccessException e)
+				{
+					throw new IllegalStateException(e);
+				}
+			}
+		}
+
+		for (Class<?> nested : from.getDeclaredClasses())
+		{
+			seed(nested);
+		}
+	}
+
+	/**
+	 * Finds the canonical symbol of a word. The word is added if it hasn't been seen before.
+	 * @param text The word.
+	 * @return The symbol of the word.
+	 */
+	public static Symbol intern(String text)
+	{
+		Symbol symbol = symbols.get(text);
+		if (symbol != null)
+			return symbol;
+
+		// Not created inside of computeIfAbsent, since a textual operator interns its operator. //
+		Symbol created = new Symbol(text);
+		symbol = symbols.putIfAbsent(text, created);
+		return symbol != null ? symbol : created;
+	}
+
+	/**
+	 * @param text A word.
+	 * @return The canonical instance of the word.
+	 */
+	public static String internName(String text)
+	{
+		return text == null ? null : intern(text).text;
+	}
+
+	/**
+	 * @return How many different words that have been seen.
+	 */
+	public static int size()
+	{
+		return symbols.size();
+	}
+}
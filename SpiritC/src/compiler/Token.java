@@ -31,6 +31,16 @@ public class Token
 	public TokenType tokenType;
 	public int indent = 0;
 
+	/**
+	 * The interned word of the token. Null for strings, numbers, indents and such.
+	 */
+	public SymbolInterner.Symbol symbol = null;
+
+	/**
+	 * Which keyword or operator the token is. NONE for strings, numbers, names and such.
+	 */
+	public TokenKind kind = TokenKind.NONE;
+
 
 	public int columnNumber;
 	public int lineNumber;
@@ -52,6 +62,31 @@ public class Token
 			}
 		}
 
+		if (this.tokenType == TokenType.SYMBOL || this.tokenType == TokenType.OPERATOR)
+			this.kind = TokenKind.of(this.value);
+
+	}
+
+	/**
+	 * Creates a token out of an interned word.
+	 * Textual operators were already worked out when the word was interned.
+	 */
+	public Token(SymbolInterner.Symbol symbol, TokenType tokenType, int columnNumber, int lineNumber)
+	{
+		if (tokenType == TokenType.SYMBOL)
+		{
+			tokenType = symbol.symbolType;
+			symbol = symbol.canonical;
+		}
+
+		if (tokenType == TokenType.SYMBOL || tokenType == TokenType.OPERATOR)
+			this.kind = symbol.kind;
+
+		this.symbol = symbol;
+		this.value = symbol.text;
+		this.tokenType = tokenType;
+		this.columnNumber = columnNumber;
+		this.lineNumber = lineNumber;
 	}
 
 	public Token(int indent, int lineNumber)
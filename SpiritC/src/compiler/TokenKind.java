@@ -0,0 +1,106 @@
+package compiler;
+
+import java.util.HashMap;
+
+/**
+ * A dense id for every keyword and operator in Syntax.
+ *
+ * Each interned word knows its kind, so the parser can switch on the kind of a token
+ * and index tables with it instead of comparing strings.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+public enum TokenKind
+{
+	/** Anything that isn't a keyword or an operator. */
+	NONE(null),
+
+	// Keywords. //
+	IF(Syntax.Keyword.IF),
+	ELSE(Syntax.Keyword.ELSE),
+	ELSEIF(Syntax.Keyword.ELSEIF),
+	MATCH(Syntax.Keyword.MATCH),
+	LOOP(Syntax.Keyword.LOOP),
+	MY(Syntax.Keyword.MY),
+	IMPORT(Syntax.Keyword.IMPORT),
+	FROM(Syntax.Keyword.FROM),
+	USE(Syntax.Keyword.USE),
+	THEN(Syntax.Keyword.THEN),
+	TYPE(Syntax.Keyword.TYPE),
+	EXTENDS(Syntax.Keyword.EXTENDS),
+	CLASS_GENERICS(Syntax.Keyword.CLASS_GENERICS),
+	AS("as"),
+
+	// Math operators. //
+	ADD(Syntax.Op.Math.ADD),
+	SUB(Syntax.Op.Math.SUB),
+	MUL(Syntax.Op.Math.MUL),
+	DIV(Syntax.Op.Math.DIV),
+	POW(Syntax.Op.Math.POW),
+	ROT(Syntax.Op.Math.ROT),
+
+	// Conditional operators. The textual ones are turned into these by the lexer. //
+	EQU(Syntax.Op.Cond.EQU),
+	NOT_EQU(Syntax.Op.Cond.NOT_EQU),
+	NOT(Syntax.Op.Cond.NOT),
+	TXT_NOT(Syntax.Op.Cond.Txt.NOT),
+	AND(Syntax.Op.Cond.AND),
+	OR(Syntax.Op.Cond.OR),
+	XOR(Syntax.Op.Cond.XOR),
+	LESS("<"),
+	GREATER(">"),
+
+	// Assignments. Also the return operator. //
+	ASSIGN(Syntax.Op.Assign.IS),
+	ASSIGN_ADD(Syntax.Op.Assign.ADD),
+	ASSIGN_SUB(Syntax.Op.Assign.SUB),
+	ASSIGN_MUL(Syntax.Op.Assign.MUL),
+	ASSIGN_DIV(Syntax.Op.Assign.DIV),
+	ASSIGN_POW(Syntax.Op.Assign.POW),
+	ASSIGN_ROT(Syntax.Op.Assign.ROT),
+	INC(Syntax.Op.Assign.INC),
+	DEC(Syntax.Op.Assign.DEC),
+
+	// Other operators. //
+	ACCESS(Syntax.Op.ACCESS),
+	TYPEDEF(Syntax.Op.TYPEDEF),
+	MAP(Syntax.Op.MAP),
+	ARG_SEP(Syntax.Op.ARG_SEP),
+	GENERIC_START(String.valueOf(Syntax.Op.GENERIC_START)),
+	GENERIC_END(String.valueOf(Syntax.Op.GENERIC_END)),
+	ANON_FUNC_START(String.valueOf(Syntax.Op.ANON_FUNC_START)),
+	ANON_FUNC_END(String.valueOf(Syntax.Op.ANON_FUNC_END));
+
+	/**
+	 * How the keyword or operator is written. Null for NONE.
+	 */
+	public final String text;
+
+	private static final HashMap<String, TokenKind> byText = new HashMap<>();
+
+	static
+	{
+		for (TokenKind kind : values())
+		{
+			if (kind.text != null)
+				byText.put(kind.text, kind);
+		}
+	}
+
+	TokenKind(String text)
+	{
+		this.text = text;
+	}
+
+	/**
+	 * Finds the kind of a word. Only used when a word is interned, tokens carry their kind.
+	 * @param text The word.
+	 * @return The kind of the word. NONE if it isn't a keyword or operator.
+	 */
+	public static TokenKind of(String text)
+	{
+		TokenKind kind = byText.get(text);
+		return kind == null ? NONE : kind;
+	}
+}
@@ -0,0 +1,131 @@
+package compiler;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gives every type a dense id and remembers the ids of its super types.
+ *
+ * The super types of a type are stored as a display: an array with the id of the root type first and
+ * the id of the type itself last. A type at depth <code>d</code> is a super type of another type exactly when
+ * the display of the other type has the id at index <code>d</code>. So checking assignability is a single
+ * array lookup instead of a walk up the class hierarchy.
+ *
+ * The displays are built on first use. They are rebuilt when a class changes what it extends.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+public class TypeRegistry
+{
+	/**
+	 * What the registry knows about a type. Every SpiritType owns one.
+	 */
+	public static final class TypeInfo
+	{
+		/** The id of the type, unique during the whole run of the compiler. */
+		public final int id;
+
+		/** The display of the type, or null if it hasn't been built yet. */
+		private volatile Display display = null;
+
+		private TypeInfo(int id)
+		{
+			this.id = id;
+		}
+	}
+
+	/**
+	 * The ids of a type and its super types, root first.
+	 */
+	private static final class Display
+	{
+		final int[] ids;
+
+		/** The hierarchy version the display was built in. */
+		final int version;
+
+		Display(int[] ids, int version)
+		{
+			this.ids = ids;
+			this.version = version;
+		}
+	}
+
+	private static final AtomicInteger nextId = new AtomicInteger();
+
+	/** Changes every time a class changes what it extends. */
+	private static final AtomicInteger hierarchyVersion = new AtomicInteger();
+
+	/**
+	 * Gives a new type its id. Called once by every SpiritType when it is created.
+	 * @return The info of the new type.
+	 */
+	public static TypeInfo register()
+	{
+		return new TypeInfo(nextId.getAndIncrement());
+	}
+
+	/**
+	 * Tells the registry that a type has a new super type, so that all displays are rebuilt.
+	 */
+	public static void hierarchyChanged()
+	{
+		hierarchyVersion.incrementAndGet();
+	}
+
+	/**
+	 * Checks if <code>superType</code> is <code>type</code> or one of its super types.
+	 * @param superType The possible super type.
+	 * @param type The type to check.
+	 * @return True if <code>type</code> is, or extends, <code>superType</code>.
+	 */
+	public static boolean isSubtype(SpiritType superType, SpiritType type)
+	{
+		if (superType == null || type == null)
+			return false;
+
+		int[] superIds = getDisplay(superType);
+		int[] ids = getDisplay(type);
+		int depth = superIds.length - 1;
+		return depth < ids.length && ids[depth] == superType.getTypeInfo().id;
+	}
+
+	private static int[] getDisplay(SpiritType type)
+	{
+		int version = hierarchyVersion.get();
+		Display display = type.getTypeInfo().display;
+		if (display != null && display.version == version)
+			return display.ids;
+
+		// Walk up until we find a type with a display, or the root. //
+		ArrayDeque<SpiritType> chain = new ArrayDeque<>();
+		int[] ids = new int[0];
+		for (SpiritType current = type; current != null; current = current.getSuperType())
+		{
+			Display known = current.getTypeInfo().display;
+			if (known != null && known.version == version)
+			{
+				ids = known.ids;
+				break;
+			}
+
+			// The class extends itself somewhere up the hierarchy. Treat the top as the root. //
+			if (chain.contains(current))
+				break;
+
+			chain.push(current);
+		}
+
+		// Build the displays from the top down. //
+		while (!chain.isEmpty())
+		{
+			TypeInfo info = chain.pop().getTypeInfo();
+			ids = Arrays.copyOf(ids, ids.length + 1);
+			ids[ids.length - 1] = info.id;
+			info.display = new Display(ids, version);
+		}
+		return ids;
+	}
+}
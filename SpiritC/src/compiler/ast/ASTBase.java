@@ -2,6 +2,7 @@ package compiler.ast;
 
 import compiler.SpiritType;
 import compiler.LangCompiler;
+import compiler.lib.BuildStats;
 import compiler.lib.IndentPrinter;
 
 import java.util.List;
@@ -35,6 +36,12 @@ public abstract class ASTBase
 	 */
 	private ASTParent parent;
 
+	/**
+	 * The lists of the class that {@link #getTreeVersion()} reads the version of.
+	 * Found when first asked for, and forgotten when this node or one of its parents moves.
+	 */
+	private ASTChildList treeChildren = null;
+
 	/**
 	 * Getter for name.
 	 * @return The current name of this AST node.
@@ -64,7 +71,39 @@ public abstract class ASTBase
 		if (newParent != null)
 			newParent.children.addChild(key, this);
 		this.parent = newParent;
+		forgetTree();
+
+	}
 
+	/**
+	 * The version of the class of the file that this node is in, i.e the outermost class below the root.
+	 * Names and types that are resolved from the AST are cached together with it, and resolved again once the class
+	 * has been edited. Edits of other classes don't matter, since a class is done before anything imports it.
+	 * @return The version. -1 if the node isn't in such a class, in which case nothing should be cached.
+	 */
+	public long getTreeVersion()
+	{
+		ASTChildList tree = treeChildren;
+		if (tree == null)
+		{
+			for (ASTBase node = this; node.getParent() != null; node = node.getParent())
+			{
+				if (node instanceof ASTClass)
+					tree = ((ASTClass) node).children;
+			}
+			if (tree == null)
+				return -1;
+			treeChildren = tree;
+		}
+		return tree.getVersion();
+	}
+
+	/**
+	 * Makes {@link #getTreeVersion()} look for the class again, since this node may be in another one now.
+	 */
+	void forgetTree()
+	{
+		treeChildren = null;
 	}
 
 	/**
@@ -83,18 +122,21 @@ public abstract class ASTBase
 
 	public ASTBase(ASTChildList.ListKey key, ASTParent parent)
 	{
-		if (parent != null)
-		{
-			this.parent = parent;
-			parent.children.addChild(key, this);
-		}
+		this(key, parent, "");
 	}
 
 
 	public ASTBase(ASTChildList.ListKey key, ASTParent parent, String name)
 	{
-		this(key, parent);
+		BuildStats.count(BuildStats.Counter.AST_NODES);
+
+		// The name has to be set before attaching, the parent indexes its children by name. //
 		this.name = name;
+		if (parent != null)
+		{
+			this.parent = parent;
+			parent.children.addChild(key, this);
+		}
 	}
 
 	/**
@@ -111,6 +153,12 @@ public abstract class ASTBase
 	 */
 	public abstract void compileSelf(LangCompiler compiler);
 
+	/**
+	 * Calls the callback for this kind of AST node in the visitor. Nodes with children also walk their children.
+	 * @param visitor The visitor to call.
+	 */
+	public abstract void accept(ASTVisitor visitor);
+
 	/**
 	 * Returns the expression type of this AST node.
 	 * @return The CherrType that represents this AST node.
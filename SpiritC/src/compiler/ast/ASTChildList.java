@@ -1,8 +1,9 @@
 package compiler.ast;
 
-import compiler.lib.Helper;
+import compiler.SpiritType;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Created by david on 7/1/17.
@@ -26,22 +27,100 @@ public class ASTChildList
 		OPERATOR_CALL,
 	}
 
-	public Map<ListKey, List<ASTBase>> children = new EnumMap<>(ListKey.class);
+	private static final ListKey[] KEYS = ListKey.values();
+	private static final ASTBase[] NO_CHILDREN = new ASTBase[0];
+
+	/**
+	 * All children in one array, grouped by list in the order of the list keys.
+	 * Classes are attached to the same root by several threads during parallel builds,
+	 * so adding and removing children is synchronized.
+	 */
+	private ASTBase[] items = NO_CHILDREN;
+
+	/**
+	 * How many children there are in total.
+	 */
+	private int count = 0;
+
+	/**
+	 * Where the list of each key ends in items. Indexed by the ordinal of the list key.
+	 * A list starts where the list of the key before it ends.
+	 */
+	private final int[] ends = new int[KEYS.length];
+
+	/**
+	 * The lists that have been added. One bit per ordinal of the list key.
+	 */
+	private int lists = 0;
+
+	/**
+	 * Views over the lists, created when first asked for. The last one is the view over all children.
+	 * Every edit bumps their modCount, so that walking a view while editing it fails fast.
+	 */
+	private ChildView[] views = null;
 
 	public ASTParent origin;
 
+	/**
+	 * Declarations by name for each list. Iterated in the order of the list keys.
+	 * Only created for lists that contain declarations.
+	 */
+	private EnumMap<ListKey, HashMap<String, ASTBase>> declarations = null;
+
+	/**
+	 * Bumped by every edit of these lists and of the lists of every node below them, but never for the root.
+	 * What is resolved from the class of a file is cached together with the version of the class.
+	 * See {@link ASTBase#getTreeVersion()}.
+	 *
+	 * Only the thread that compiles a class edits it, so there is never more than one thread bumping its versions.
+	 */
+	private volatile long version = 0;
+
+	/**
+	 * Gives every class an id, which is kept in the upper half of its version.
+	 */
+	private static final AtomicInteger classIds = new AtomicInteger();
+
+	/**
+	 * Getter for version.
+	 * @return How many times these lists and the lists below them have been edited.
+	 */
+	public long getVersion()
+	{
+		return version;
+	}
+
+	/**
+	 * Invalidates everything that was resolved from these lists and from the class of the file that they are in.
+	 */
+	public void markEdited()
+	{
+		// Classes of other files only see the root, which nothing caches anything from. //
+		for (ASTParent node = origin; node != null && node.getParent() != null; node = node.getParent())
+			node.children.version++;
+	}
+
 
 	public ASTChildList(ASTParent origin)
 	{
 		this.origin = origin;
+
+		// Versions of different classes never match, so a node that moves to another class can't hit its old cache. //
+		if (origin instanceof ASTClass)
+			version = (long) classIds.incrementAndGet() << 32;
 	}
 
 
-	public void addChild(ListKey key, ASTBase child)
+	public synchronized void addChild(ListKey key, ASTBase child)
 	{
-		if (children.containsKey(key))
+		if (hasList(key))
 		{
-			children.get(key).add(child);
+			insert(key, ends[key.ordinal()], child);
+
+			// Adding a class to the root can only resolve names that were not found before. //
+			// Those are never cached, so there is no need to invalidate anything.            //
+			if (!(child instanceof ASTClass && origin.getParent() == null))
+				markEdited();
 		}
 		else
 		{
@@ -50,11 +129,157 @@ public class ASTChildList
 
 	}
 
-	public void removeChild(ASTBase child)
+	public synchronized void removeChild(ASTBase child)
+	{
+		for (ListKey key : KEYS)
+		{
+			if (!hasList(key))
+				continue;
+
+			for (int i = start(key); i < ends[key.ordinal()]; i++)
+			{
+				if (items[i] == child)
+				{
+					removeAt(key, i);
+					break;
+				}
+			}
+		}
+		markEdited();
+	}
+
+	/**
+	 * Inserts a child at a position in items. The position has to be inside of the list of the key.
+	 */
+	private void insert(ListKey key, int position, ASTBase child)
+	{
+		if (count == items.length)
+			items = Arrays.copyOf(items, Math.max(4, count * 2));
+
+		System.arraycopy(items, position, items, position + 1, count - position);
+		items[position] = child;
+		count++;
+		for (int i = key.ordinal(); i < ends.length; i++)
+			ends[i]++;
+
+		indexDeclaration(key, child);
+		modified();
+	}
+
+	/**
+	 * Removes the child at a position in items. The position has to be inside of the list of the key.
+	 */
+	private void removeAt(ListKey key, int position)
+	{
+		ASTBase child = items[position];
+		count--;
+		System.arraycopy(items, position + 1, items, position, count - position);
+		items[count] = null;
+		for (int i = key.ordinal(); i < ends.length; i++)
+			ends[i]--;
+
+		unindexDeclaration(key, child);
+		modified();
+	}
+
+	/**
+	 * Lets the iterators of every view know that the lists have changed.
+	 */
+	private void modified()
+	{
+		if (views == null)
+			return;
+
+		for (ChildView view : views)
+		{
+			if (view != null)
+				view.modified();
+		}
+	}
+
+	private boolean hasList(ListKey key)
+	{
+		return (lists & (1 << key.ordinal())) != 0;
+	}
+
+	private int start(ListKey key)
+	{
+		return key.ordinal() == 0 ? 0 : ends[key.ordinal() - 1];
+	}
+
+	/**
+	 * Checks if an AST node declares a symbol that can be found with {@link ASTParent#findSymbol(String)}.
+	 * @param node The node to check.
+	 * @return True if the node is a declaration.
+	 */
+	public static boolean isDeclaration(ASTBase node)
+	{
+		return node instanceof ASTFunctionGroup || node instanceof ASTVariableDeclaration || node instanceof SpiritType;
+	}
+
+	/**
+	 * Finds the first declaration with a name in any of the lists.
+	 * @param name The name of the declaration.
+	 * @return The found declaration. Null if none.
+	 */
+	public synchronized ASTBase findDeclaration(String name)
+	{
+		if (declarations == null)
+			return null;
+
+		for (HashMap<String, ASTBase> names : declarations.values())
+		{
+			ASTBase declaration = names.get(name);
+			if (declaration != null)
+				return declaration;
+		}
+		return null;
+	}
+
+	/**
+	 * Finds the first declaration with a name in a specific list.
+	 * @param key The list to search in.
+	 * @param name The name of the declaration.
+	 * @return The found declaration. Null if none.
+	 */
+	public synchronized ASTBase findDeclaration(ListKey key, String name)
+	{
+		if (declarations == null || !declarations.containsKey(key))
+			return null;
+		return declarations.get(key).get(name);
+	}
+
+	private void indexDeclaration(ListKey key, ASTBase child)
+	{
+		if (!isDeclaration(child))
+			return;
+
+		if (declarations == null)
+			declarations = new EnumMap<>(ListKey.class);
+
+		// The first declaration with a name shadows the later ones. //
+		declarations.computeIfAbsent(key, k -> new HashMap<>()).putIfAbsent(child.name, child);
+	}
+
+	private void unindexDeclaration(ListKey key, ASTBase child)
 	{
-		for (List<ASTBase> lists: children.values())
+		if (declarations == null || !declarations.containsKey(key))
+			return;
+
+		HashMap<String, ASTBase> names = declarations.get(key);
+		if (names.get(child.name) != child)
+			return;
+
+		// Let the next declaration with the same name take its place. //
+		names.remove(child.name);
+		for (int i = start(key); i < ends[key.ordinal()]; i++)
 		{
-			lists.remove(child);
+			ASTBase other = items[i];
+			if (isDeclaration(other) && other.name.equals(child.name))
+			{
+				names.put(other.name, other);
+				break;
+			}
 		}
 	}
 
@@ -62,44 +287,104 @@ public class ASTChildList
 	{
 		for (ListKey key : listKeys)
 		{
-			children.put(key, new ArrayList<>());
+			lists |= 1 << key.ordinal();
 		}
 	}
 
 
 	public void addList(ListKey key, int size)
 	{
-		children.put(key, new ArrayList<>(size));
+		lists |= 1 << key.ordinal();
+		if (items.length < count + size)
+			items = Arrays.copyOf(items, count + size);
 	}
 
-	public ASTBase[] getAll()
+	/**
+	 * How many children there are in all lists. Use with {@link #get(int)} to walk the children without creating any garbage.
+	 * @return The number of children.
+	 */
+	public synchronized int size()
 	{
-		return Helper.combineList(children.values());
+		return count;
 	}
 
-	public ASTBase getLast()
+	/**
+	 * Gets a child from all lists, in the order of the list keys.
+	 * @param index The index of the child.
+	 * @return The child.
+	 */
+	public synchronized ASTBase get(int index)
 	{
-		return getLast(ListKey.BODY);
+		if (index < 0 || index >= count)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+		return items[index];
 	}
 
-	public ASTBase getLast(ListKey key)
+	/**
+	 * @param key The list.
+	 * @return How many children there are in the list.
+	 */
+	public synchronized int size(ListKey key)
 	{
-		List<ASTBase> body = children.get(key);
-		return body.get(body.size() - 1);
+		return ends[key.ordinal()] - start(key);
 	}
 
-	public ASTBase getFirst()
+	/**
+	 * Gets a child from one list.
+	 * @param key The list.
+	 * @param index The index of the child within the list.
+	 * @return The child.
+	 */
+	public synchronized ASTBase get(ListKey key, int index)
 	{
-		return children.get(ListKey.BODY).get(0);
+		int size = size(key);
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		return items[start(key) + index];
 	}
 
+	/**
+	 * A live view over the children of all lists.
+	 * Walking it doesn't copy anything. Editing the lists while walking it throws a ConcurrentModificationException,
+	 * use {@link #getAllCopy()} for that.
+	 * @return The view.
+	 */
+	public List<ASTBase> getAll()
+	{
+		return view(null);
+	}
 
+	/**
+	 * A copy of the children of all lists, taken in one step.
+	 * For walking the children while editing the lists, or while other threads might edit them.
+	 * @return The copy.
+	 */
+	public synchronized ArrayList<ASTBase> getAllCopy()
+	{
+		return new ArrayList<>(Arrays.asList(items).subList(0, count));
+	}
 
+	public ASTBase getLast()
+	{
+		return getLast(ListKey.BODY);
+	}
 
+	public ASTBase getLast(ListKey key)
+	{
+		return get(key, size(key) - 1);
+	}
 
+	public ASTBase getFirst()
+	{
+		return get(ListKey.BODY, 0);
+	}
 
-
-	public List<ASTBase> getList(ListKey key) { return children.get(key); }
+	/**
+	 * A live view over one list. Children that are added or removed through the view are (un)indexed as declarations.
+	 * @param key The list.
+	 * @return The view. Null if the list hasn't been added.
+	 */
+	public List<ASTBase> getList(ListKey key) { return hasList(key) ? view(key) : null; }
 
 	public List<ASTBase> getBody() 			{ return getList(ListKey.BODY); 			}
 	public List<ASTBase> getArgs() 			{ return getList(ListKey.ARGS); 			}
@@ -110,8 +395,76 @@ public class ASTChildList
 	public List<ASTBase> getForIncrement() 	{ return getList(ListKey.FOR_ITERATIONAL); 	}
 	public List<ASTBase> getForCondition() 	{ return getList(ListKey.FOR_CONDITION); 	}
 
+	private synchronized ChildView view(ListKey key)
+	{
+		int slot = key == null ? KEYS.length : key.ordinal();
+		if (views == null)
+			views = new ChildView[KEYS.length + 1];
+		if (views[slot] == null)
+			views[slot] = new ChildView(key);
+		return views[slot];
+	}
+
+	/**
+	 * A list that reads straight from items.
+	 */
+	private class ChildView extends AbstractList<ASTBase> implements RandomAccess
+	{
+		/**
+		 * The list that is viewed. Null for all children.
+		 */
+		private final ListKey key;
+
+		ChildView(ListKey key)
+		{
+			this.key = key;
+		}
+
+		void modified()
+		{
+			modCount++;
+		}
 
+		@Override
+		public ASTBase get(int index)
+		{
+			return key == null ? ASTChildList.this.get(index) : ASTChildList.this.get(key, index);
+		}
 
+		@Override
+		public int size()
+		{
+			return key == null ? ASTChildList.this.size() : ASTChildList.this.size(key);
+		}
 
+		@Override
+		public void add(int index, ASTBase child)
+		{
+			if (key == null)
+				throw new UnsupportedOperationException("Add children to a specific list.");
+
+			synchronized (ASTChildList.this)
+			{
+				if (index < 0 || index > size())
+					throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+				insert(key, start(key) + index, child);
+				markEdited();
+			}
+		}
 
+		@Override
+		public ASTBase remove(int index)
+		{
+			if (key == null)
+				throw new UnsupportedOperationException("Remove children from a specific list.");
+
+			synchronized (ASTChildList.this)
+			{
+				ASTBase child = get(index);
+				removeAt(key, start(key) + index);
+				markEdited();
+				return child;
+			}
+		}
+	}
 }
@@ -60,6 +60,8 @@ public class ASTClass extends ASTParent implements SpiritType, SpiritCallable
 
 	public ASTBase newlyInsertedCode = null;
 
+	private final TypeRegistry.TypeInfo typeInfo = TypeRegistry.register();
+
 	public ASTClass(String name, ASTParent parent)
 	{
 		super(ASTChildList.ListKey.BODY, parent, name);
@@ -87,6 +89,10 @@ public class ASTClass extends ASTParent implements SpiritType, SpiritCallable
 		ASTBase search = this.findSymbol(className);
 		if (search instanceof ASTClass)
 			extendsClassAST = (ASTClass)search;
+
+		// "super" refers to something else now, and so does the super type. //
+		children.markEdited();
+		TypeRegistry.hierarchyChanged();
 	}
 
 	/**
@@ -111,13 +117,14 @@ public class ASTClass extends ASTParent implements SpiritType, SpiritCallable
 	/**
 	 * Adds a package to the import list.
 	 * Then it imports it if ignoreImports is set to false.
+	 * A class without a parent, like the root, has nowhere to put the package, so nothing is imported for it.
 	 * @param importPackage The package name.
 	 * @param importSymbols A list of stuff to  be imported from it.
 	 */
 	public void importClass(String importPackage, String[] importSymbols)
 	{
 		classImports.add(new ImportDeclaration(importPackage, importSymbols));
-		if (!ignoreImports)
+		if (!ignoreImports && getParent() != null)
 			FileCompiler.importFile(importPackage + Main.FILE_EXTENSION, (ASTClass)getParent());
 	}
 
@@ -182,14 +189,19 @@ public class ASTClass extends ASTParent implements SpiritType, SpiritCallable
 	@Override
 	public ArrayList<ASTBase> getChildNodes()
 	{
-		return new ArrayList<>(Arrays.asList(children.getAll()));
+		return children.getAllCopy();
 	}
 
 	@Override
 	public ASTBase getChildByName(String name)
 	{
-		for (ASTBase astChild : children.getAll())
+		ASTBase declaration = children.findDeclaration(name);
+		if (declaration != null)
+			return declaration;
+
+		for (int i = 0; i < children.size(); i++)
 		{
+			ASTBase astChild = children.get(i);
 			if (astChild.getName().equals(name))
 			{
 				return astChild;
@@ -204,12 +216,25 @@ public class ASTClass extends ASTParent implements SpiritType, SpiritCallable
 		return extendsClassAST;
 	}
 
+	@Override
+	public TypeRegistry.TypeInfo getTypeInfo()
+	{
+		return typeInfo;
+	}
+
 	@Override
 	public void compileSelf(LangCompiler compiler)
 	{
 		compiler.compileClass(this);
 	}
 
+	@Override
+	public void accept(ASTVisitor visitor)
+	{
+		if (visitor.visitClass(this))
+			visitor.visitChildren(this);
+	}
+
 	@Override
 	public SpiritType getExpressionType()
 	{
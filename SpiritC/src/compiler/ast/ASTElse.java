@@ -69,4 +69,11 @@ public class ASTElse extends ASTParent
 		 * This does nothing because it's compiled by the owning ASTIf
 		 */
 	}
+
+	@Override
+	public void accept(ASTVisitor visitor)
+	{
+		if (visitor.visitElse(this))
+			visitor.visitChildren(this);
+	}
 }
@@ -38,4 +38,10 @@ public class ASTFileTypeDeclaration extends ASTBase
 	{
 		// Do nothing ... //
 	}
+
+	@Override
+	public void accept(ASTVisitor visitor)
+	{
+		visitor.visitFileTypeDeclaration(this);
+	}
 }
@@ -21,6 +21,16 @@ public class ASTFunctionCall extends ASTParent
 	 */
 	private ASTPath declarationPath;
 
+	/**
+	 * The cached result of {@link #getResolvedDeclaration()}.
+	 */
+	private ASTFunctionDeclaration resolvedDeclaration = null;
+
+	/**
+	 * The version of the class when resolvedDeclaration was worked out.
+	 */
+	private long resolvedDeclarationVersion = -1;
+
 	public ASTPath getDeclarationPath()
 	{
 		return declarationPath;
@@ -61,10 +71,27 @@ public class ASTFunctionCall extends ASTParent
 		children.addLists(ASTChildList.ListKey.ARGS, ASTChildList.ListKey.PATH);
 	}
 
+	/**
+	 * Finds the overload that this call calls.
+	 * The result is remembered until its class is edited, so the checker and the backends can ask for it freely.
+	 * @return The declaration whose parameters match the arguments. Null if there is none.
+	 */
+	public ASTFunctionDeclaration getResolvedDeclaration()
+	{
+		// Finding the matching overload types all arguments, so only do it once. //
+		long version = getTreeVersion();
+		if (version < 0 || resolvedDeclarationVersion != version)
+		{
+			resolvedDeclaration = getFunctionGroup().getWithMarchingArguments(children.getArgs());
+			resolvedDeclarationVersion = version;
+		}
+		return resolvedDeclaration;
+	}
+
 	@Override
 	public SpiritType getExpressionType()
 	{
-		ASTFunctionDeclaration declaration = getFunctionGroup().getWithMarchingArguments(children.getArgs());
+		ASTFunctionDeclaration declaration = getResolvedDeclaration();
 
 		if (declaration != null)
 		{
@@ -100,4 +127,11 @@ public class ASTFunctionCall extends ASTParent
 	{
 		compiler.compileFunctionCall(this);
 	}
+
+	@Override
+	public void accept(ASTVisitor visitor)
+	{
+		if (visitor.visitFunctionCall(this))
+			visitor.visitChildren(this);
+	}
 }
@@ -4,7 +4,6 @@ import compiler.SpiritType;
 import compiler.LangCompiler;
 import compiler.builtins.Builtins;
 import compiler.builtins.TypeUndefined;
-import compiler.lib.Helper;
 import compiler.lib.IndentPrinter;
 
 import java.util.ArrayList;
@@ -38,6 +37,26 @@ public class ASTFunctionDeclaration extends ASTParent
 
 	private boolean anonymous = false;
 
+	/**
+	 * The cached result of {@link #getParameterTypes()}.
+	 * Replaced as a whole, so that a thread never sees types that are half worked out.
+	 */
+	private volatile ParameterTypes parameterTypes = null;
+
+	/**
+	 * The types of the parameters as of a version of the declaration.
+	 */
+	private static final class ParameterTypes
+	{
+		final long version;
+		final SpiritType[] types;
+
+		ParameterTypes(long version, SpiritType[] types)
+		{
+			this.version = version;
+			this.types = types;
+		}
+	}
 
 	public ASTFunctionDeclaration(ASTChildList.ListKey key, ASTParent parent, SpiritType returnType)
 	{
@@ -67,6 +86,30 @@ public class ASTFunctionDeclaration extends ASTParent
 			return returnType;
 	}
 
+	/**
+	 * Gets the types of the parameters, in order. Used to pick the right overload for a call.
+	 * Worked out again once the declaration has been edited.
+	 * @return The type of every argument of this function. Don't modify it.
+	 */
+	public SpiritType[] getParameterTypes()
+	{
+		long version = children.getVersion();
+		ParameterTypes cached = parameterTypes;
+		if (cached == null || cached.version != version)
+		{
+			int argCount = children.size(ASTChildList.ListKey.ARGS);
+			SpiritType[] types = new SpiritType[argCount];
+			for (int i = 0; i < argCount; i++)
+			{
+				types[i] = children.get(ASTChildList.ListKey.ARGS, i).getExpressionType();
+			}
+
+			cached = new ParameterTypes(version, types);
+			parameterTypes = cached;
+		}
+		return cached.types;
+	}
+
 	@Override
 	public void debugSelf(IndentPrinter destination)
 	{
@@ -121,14 +164,19 @@ public class ASTFunctionDeclaration extends ASTParent
 		compiler.compileFunctionDeclaration(this);
 	}
 
+	@Override
+	public void accept(ASTVisitor visitor)
+	{
+		if (visitor.visitFunctionDeclaration(this))
+			visitor.visitChildren(this);
+	}
+
 	@Override
 	public ASTBase findSymbol(String symbolName)
 	{
-		for (ASTBase arg : children.getArgs())
-		{
-			if (arg.name.equals(symbolName) && (arg instanceof ASTFunctionGroup || arg instanceof ASTVariableDeclaration || arg instanceof SpiritType))
-				return arg;
-		}
+		ASTBase arg = children.findDeclaration(ASTChildList.ListKey.ARGS, symbolName);
+		if (arg != null)
+			return arg;
 		return super.findSymbol(symbolName);
 	}
 }
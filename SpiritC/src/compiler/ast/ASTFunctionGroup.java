@@ -5,7 +5,8 @@ import compiler.LangCompiler;
 import compiler.Syntax;
 import compiler.lib.IndentPrinter;
 
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -16,6 +17,27 @@ public class ASTFunctionGroup extends ASTParent
 {
 	public boolean operatorOverload = false;
 
+	/**
+	 * The cached result of {@link #getArityIndex()}.
+	 * Replaced as a whole, so that a thread never sees an index that is half built.
+	 */
+	private volatile ArityIndex arityIndex = null;
+
+	/**
+	 * The declarations of the group by the number of arguments they take, as of a version of the group.
+	 */
+	private static final class ArityIndex
+	{
+		final long version;
+		final List<List<ASTFunctionDeclaration>> declarations;
+
+		ArityIndex(long version, List<List<ASTFunctionDeclaration>> declarations)
+		{
+			this.version = version;
+			this.declarations = declarations;
+		}
+	}
+
 	public ASTFunctionGroup(ASTChildList.ListKey key, ASTParent parent, String name)
 	{
 		super(key, parent, name);
@@ -28,6 +50,19 @@ public class ASTFunctionGroup extends ASTParent
 		return name.equals(Syntax.ReservedNames.CONSTRUCTOR);
 	}
 
+	/**
+	 * Gets all declarations in the group that take a number of arguments.
+	 * @param arity The number of arguments.
+	 * @return The declarations, in the order they were declared. Empty if there are none. Can't be modified.
+	 */
+	public List<ASTFunctionDeclaration> getWithArity(int arity)
+	{
+		List<List<ASTFunctionDeclaration>> index = getArityIndex();
+		if (arity < 0 || arity >= index.size())
+			return Collections.emptyList();
+		return index.get(arity);
+	}
+
 	/**
 	 * Gets the ASTFunctionDeclaration that matches the given arguments.
 	 * @param arguments The arguments to check against.
@@ -35,42 +70,71 @@ public class ASTFunctionGroup extends ASTParent
 	 */
 	public ASTFunctionDeclaration getWithMarchingArguments(List<ASTBase> arguments)
 	{
-		// Check all declarations in group. //
-		for (ASTBase astBase : children.getBody())
+		// Only the declarations with the same amount of arguments can match. //
+		List<ASTFunctionDeclaration> candidates = getWithArity(arguments.size());
+		if (candidates.isEmpty())
+			return null;
+
+		// Type every argument only once, no matter how many candidates there are. //
+		SpiritType[] argumentTypes = new SpiritType[arguments.size()];
+		for (int i = 0; i < argumentTypes.length; i++)
 		{
-			ASTFunctionDeclaration declaration = (ASTFunctionDeclaration) astBase;
+			argumentTypes[i] = arguments.get(i).getExpressionType();
+		}
 
-			// No point in checking if they have different sizes. //
-			if (declaration.children.getArgs().size() == arguments.size())
-			{
-				boolean match = true;
-
-				// Iterate until the end or argument miss-match. //
-				Iterator<ASTBase> iteratorA = declaration.children.getArgs().iterator();
-				Iterator<ASTBase> iteratorB = arguments.iterator();
-				while(iteratorA.hasNext())
-				{
-					// Check miss-match by checking if the types differ. //
-					if (iteratorA.next().getExpressionType() != iteratorB.next().getExpressionType())
-					{
-						// An argument miss-match occurred set failure to true and stop.
-						match = false;
-						break;
-					}
-				}
-
-				if (match)
-				{
-					// If arguments match 100% then we return this declaration. //
-					return declaration;
-				}
-			}
+		for (ASTFunctionDeclaration declaration : candidates)
+		{
+			if (typesMatch(declaration.getParameterTypes(), argumentTypes))
+				return declaration;
 		}
 
 		// Failure, no matchable declarations in this group... //
 		return null;
 	}
 
+	private static boolean typesMatch(SpiritType[] parameterTypes, SpiritType[] argumentTypes)
+	{
+		for (int i = 0; i < parameterTypes.length; i++)
+		{
+			// Check miss-match by checking if the types differ. //
+			if (parameterTypes[i] != argumentTypes[i])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the declarations of the group, indexed by the number of arguments they take.
+	 * Built again once the group has been edited. Declaring an argument edits the group too.
+	 */
+	private List<List<ASTFunctionDeclaration>> getArityIndex()
+	{
+		// Read the version before the declarations, so that an edit while building makes us build again next time. //
+		long version = children.getVersion();
+		ArityIndex index = arityIndex;
+		if (index == null || index.version != version)
+		{
+			ArrayList<List<ASTFunctionDeclaration>> declarations = new ArrayList<>();
+			int bodySize = children.size(ASTChildList.ListKey.BODY);
+			for (int i = 0; i < bodySize; i++)
+			{
+				ASTFunctionDeclaration declaration = (ASTFunctionDeclaration) children.get(ASTChildList.ListKey.BODY, i);
+				int arity = declaration.children.size(ASTChildList.ListKey.ARGS);
+				while (declarations.size() <= arity)
+					declarations.add(new ArrayList<>());
+				declarations.get(arity).add(declaration);
+			}
+			for (int i = 0; i < declarations.size(); i++)
+			{
+				declarations.set(i, Collections.unmodifiableList(declarations.get(i)));
+			}
+
+			index = new ArityIndex(version, Collections.unmodifiableList(declarations));
+			arityIndex = index;
+		}
+		return index.declarations;
+	}
+
 	@Override
 	public SpiritType getExpressionType()
 	{
@@ -98,4 +162,11 @@ public class ASTFunctionGroup extends ASTParent
 	{
 		compiler.compileFunctionGroup(this);
 	}
+
+	@Override
+	public void accept(ASTVisitor visitor)
+	{
+		if (visitor.visitFunctionGroup(this))
+			visitor.visitChildren(this);
+	}
 }
@@ -77,4 +77,11 @@ public class ASTIf extends ASTParent
 	{
 		compiler.compileIf(this);
 	}
+
+	@Override
+	public void accept(ASTVisitor visitor)
+	{
+		if (visitor.visitIf(this))
+			visitor.visitChildren(this);
+	}
 }
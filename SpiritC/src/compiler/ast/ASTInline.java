@@ -38,4 +38,10 @@ public class ASTInline extends ASTBase
 	{
 		compiler.compileInline(this);
 	}
+
+	@Override
+	public void accept(ASTVisitor visitor)
+	{
+		visitor.visitInline(this);
+	}
 }
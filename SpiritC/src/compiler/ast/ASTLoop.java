@@ -69,4 +69,11 @@ public class ASTLoop extends ASTParent
 	{
 		compiler.compileLoop(this);
 	}
+
+	@Override
+	public void accept(ASTVisitor visitor)
+	{
+		if (visitor.visitLoop(this))
+			visitor.visitChildren(this);
+	}
 }
@@ -4,8 +4,6 @@ import compiler.SpiritType;
 import compiler.LangCompiler;
 import compiler.lib.IndentPrinter;
 
-import java.util.ArrayList;
-
 /**
  * Defines a member access for a variable.<br>
  * Example: "world.hello"
@@ -25,26 +23,29 @@ public class ASTMemberAccess extends ASTParent implements ASTPath
 	 */
 	private String memberName;
 
+	/**
+	 * The cached result of {@link #getMember()}.
+	 */
+	private ASTBase member = null;
+
+	/**
+	 * The version of the class when member was found.
+	 */
+	private long memberVersion;
+
 	/**
 	 * The find member based on {@link #getMemberName()}
+	 * The member is only searched for again if the class has been edited since the last search.
 	 * @return The member that was found.
 	 */
 	public ASTBase getMember()
 	{
-		ASTBase member = null;
+		long version = getTreeVersion();
+		if (member != null && version >= 0 && memberVersion == version)
+			return member;
 
-		ArrayList<ASTBase> members = ofObject.getExpressionType().getChildNodes();
-		if (members != null)
-		{
-			for (ASTBase possibleMember : members)
-			{
-				if (possibleMember.getName().equals(memberName))
-				{
-					member = possibleMember;
-					break;
-				}
-			}
-		}
+		member = ofObject.getExpressionType().getChildByName(memberName);
+		memberVersion = version;
 
 		if (member == null)
 		{
@@ -106,6 +107,13 @@ public class ASTMemberAccess extends ASTParent implements ASTPath
 		compiler.compileMemberAccess(this);
 	}
 
+	@Override
+	public void accept(ASTVisitor visitor)
+	{
+		if (visitor.visitMemberAccess(this))
+			visitor.visitChildren(this);
+	}
+
 	@Override
 	public String toString()
 	{
@@ -30,7 +30,7 @@ public class ASTNumber extends ASTBase
 	@Override
 	public SpiritType getExpressionType()
 	{
-		return Builtins.getBuiltin("int");
+		return Builtins.INT;
 	}
 
 	@Override
@@ -44,4 +44,10 @@ public class ASTNumber extends ASTBase
 	{
 		compiler.compileNumber(this);
 	}
+
+	@Override
+	public void accept(ASTVisitor visitor)
+	{
+		visitor.visitNumber(this);
+	}
 }
@@ -14,6 +14,16 @@ import compiler.ast.ASTChildList.ListKey;
  */
 public class ASTOperator extends ASTParent
 {
+	/**
+	 * The cached result of {@link #getExpressionType()}.
+	 */
+	private SpiritType expressionType = null;
+
+	/**
+	 * The version of the class when expressionType was worked out.
+	 */
+	private long expressionTypeVersion = -1;
+
 
 
 	/**
@@ -52,6 +62,18 @@ public class ASTOperator extends ASTParent
 
 	@Override
 	public SpiritType getExpressionType()
+	{
+		// Nested operators would otherwise type their operands again for every level. //
+		long version = getTreeVersion();
+		if (version < 0 || expressionTypeVersion != version)
+		{
+			expressionType = findExpressionType();
+			expressionTypeVersion = version;
+		}
+		return expressionType;
+	}
+
+	private SpiritType findExpressionType()
 	{
 		SpiritType operatorType = getRightExpression().getExpressionType();
 		if (operatorType == getLeftExpression().getExpressionType())
@@ -78,4 +100,11 @@ public class ASTOperator extends ASTParent
 	{
 		compiler.compileOperator(this);
 	}
+
+	@Override
+	public void accept(ASTVisitor visitor)
+	{
+		if (visitor.visitOperator(this))
+			visitor.visitChildren(this);
+	}
 }
@@ -1,6 +1,6 @@
 package compiler.ast;
 
-import compiler.SpiritType;
+import compiler.lib.BuildStats;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
@@ -29,18 +29,27 @@ public abstract class ASTParent extends ASTBase
 	public ASTBase findSymbol(String symbolName)
 	{
 		// FIXME: More like findVariable!
+		BuildStats.count(BuildStats.Counter.SYMBOL_LOOKUPS);
 
-		for (ASTBase child : this.children.getAll())
-		{
-			if (child.name.equals(symbolName) && (child instanceof ASTFunctionGroup || child instanceof ASTVariableDeclaration || child instanceof SpiritType))
-			{
-				return child;
-			}
-		}
+		ASTBase declaration = children.findDeclaration(symbolName);
+		if (declaration != null)
+			return declaration;
 
 		if (getParent() != null)
 			return getParent().findSymbol(symbolName);
 
 		return null;
 	}
+
+	@Override
+	void forgetTree()
+	{
+		super.forgetTree();
+
+		// Everything below has moved too. //
+		for (int i = 0; i < children.size(); i++)
+		{
+			children.get(i).forgetTree();
+		}
+	}
 }
@@ -38,4 +38,11 @@ public class ASTReturnExpression extends ASTParent
 	{
 		compiler.compileReturnExpression(this);
 	}
+
+	@Override
+	public void accept(ASTVisitor visitor)
+	{
+		if (visitor.visitReturnExpression(this))
+			visitor.visitChildren(this);
+	}
 }
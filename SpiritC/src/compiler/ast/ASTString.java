@@ -27,7 +27,7 @@ public class ASTString extends ASTBase
 	@Override
 	public SpiritType getExpressionType()
 	{
-		return Builtins.getBuiltin("string");
+		return Builtins.STRING;
 	}
 
 	@Override
@@ -41,4 +41,10 @@ public class ASTString extends ASTBase
 	{
 		compiler.compileString(this);
 	}
+
+	@Override
+	public void accept(ASTVisitor visitor)
+	{
+		visitor.visitString(this);
+	}
 }
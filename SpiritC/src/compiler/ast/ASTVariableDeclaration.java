@@ -81,4 +81,11 @@ public class ASTVariableDeclaration extends ASTParent implements SpiritCallable
 			compiler.compileVariableDeclaration(this);
 		}
 	}
+
+	@Override
+	public void accept(ASTVisitor visitor)
+	{
+		if (visitor.visitVariableDeclaration(this))
+			visitor.visitChildren(this);
+	}
 }
@@ -10,16 +10,33 @@ import compiler.lib.IndentPrinter;
  */
 public class ASTVariableUsage extends ASTBase implements ASTPath
 {
+	/**
+	 * The cached result of {@link #getDeclaration()}.
+	 */
+	private ASTBase declaration = null;
+
+	/**
+	 * The version of the class when declaration was resolved.
+	 */
+	private long declarationVersion;
+
 	/**
 	 * The path to the declaration.
+	 * The declaration is only searched for again if the class has been edited since the last search.
 	 * @return Returns the declaration.
 	 */
 	public ASTBase getDeclaration()
 	{
-		if (name.equals("super"))
-			return this.getContainingClass().extendsClassAST;
-		else
-			return getParent().findSymbol(name);
+		long version = getTreeVersion();
+		if (declaration == null || version < 0 || declarationVersion != version)
+		{
+			if (name.equals("super"))
+				declaration = this.getContainingClass().extendsClassAST;
+			else
+				declaration = getParent().findSymbol(name);
+			declarationVersion = version;
+		}
+		return declaration;
 	}
 
 	public ASTVariableUsage(ASTChildList.ListKey key, ASTParent parent, String name)
@@ -49,6 +66,12 @@ public class ASTVariableUsage extends ASTBase implements ASTPath
 		compiler.compileVariableUsage(this);
 	}
 
+	@Override
+	public void accept(ASTVisitor visitor)
+	{
+		visitor.visitVariableUsage(this);
+	}
+
 	@Override
 	public String getEnd()
 	{
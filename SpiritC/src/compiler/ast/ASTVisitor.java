@@ -0,0 +1,47 @@
+package compiler.ast;
+
+/**
+ * Walks an AST with one callback per kind of node.
+ *
+ * Start a walk with {@link ASTBase#accept(ASTVisitor)}. Every node calls its own callback, so there is no
+ * need for instanceof checks, and nothing is collected into lists along the way. Nodes are visited before
+ * their children. The callbacks of nodes with children return whether the children should be visited.
+ *
+ * Only override the callbacks that are needed, the rest do nothing.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+public abstract class ASTVisitor
+{
+	public boolean visitClass(ASTClass astClass) 											{ return true; }
+	public boolean visitIf(ASTIf astIf) 													{ return true; }
+	public boolean visitElse(ASTElse astElse) 												{ return true; }
+	public boolean visitLoop(ASTLoop astLoop) 												{ return true; }
+	public boolean visitFunctionCall(ASTFunctionCall astFunctionCall) 						{ return true; }
+	public boolean visitFunctionGroup(ASTFunctionGroup astFunctionGroup) 					{ return true; }
+	public boolean visitVariableDeclaration(ASTVariableDeclaration astVariableDeclaration) 	{ return true; }
+	public boolean visitOperator(ASTOperator astOperator) 									{ return true; }
+	public boolean visitFunctionDeclaration(ASTFunctionDeclaration astFunctionDeclaration) 	{ return true; }
+	public boolean visitReturnExpression(ASTReturnExpression astReturnExpression) 			{ return true; }
+	public boolean visitMemberAccess(ASTMemberAccess astMemberAccess) 						{ return true; }
+
+	public void visitVariableUsage(ASTVariableUsage astVariableUsage) 						{ }
+	public void visitNumber(ASTNumber astNumber) 											{ }
+	public void visitString(ASTString astString) 											{ }
+	public void visitInline(ASTInline astInline) 											{ }
+	public void visitFileTypeDeclaration(ASTFileTypeDeclaration astFileTypeDeclaration) 	{ }
+
+	/**
+	 * Visits all children of a node.
+	 * @param astParent The node whose children to visit.
+	 */
+	public void visitChildren(ASTParent astParent)
+	{
+		ASTChildList children = astParent.children;
+		for (int i = 0; i < children.size(); i++)
+		{
+			children.get(i).accept(this);
+		}
+	}
+}
@@ -19,8 +19,13 @@ public class CompilerCPP extends LangCompiler
 {
 	private String hppLocation = null;
 
-	private PrintStream cppStream = null;
-	private PrintStream hppStream = null;
+	private File cppFile = null;
+	private File hppFile = null;
+
+	/**
+	 * How many characters the output files start out with room for.
+	 */
+	private static final int INITIAL_OUTPUT_CAPACITY = 16 * 1024;
 
 	private IndentPrinter cppOutput;
 	private IndentPrinter hppOutput;
@@ -123,11 +128,22 @@ public class CompilerCPP extends LangCompiler
 			String path = Main.getPath();
 			for (ASTClass.ImportDeclaration declaration : astClass.classImports)
 			{
-				String pkgPath = PathFind.findInPath(path, "out/" +
-						declaration.importPackage.replace('.', '/') + Main.FILE_EXTENSION +".hpp");
+				String header = "out/" + declaration.importPackage.replace('.', '/') + Main.FILE_EXTENSION + ".hpp";
+				String pkgPath = PathFind.findInPath(path, header);
 				if (pkgPath == null)
 				{
-					System.err.println("ERROR: Could not find package: " + declaration.importPackage);
+					// The header might have just been compiled and still be on its way to the disk. //
+					// Only wait for that header, not for everything else that is being written.    //
+					// Look again even if it wasn't pending, it might have landed right after the first look. //
+					for (String location : path.split(":"))
+					{
+						Main.outputWriter.awaitFile(new File(location, header));
+					}
+					pkgPath = PathFind.findInPath(path, header);
+				}
+				if (pkgPath == null)
+				{
+					ErrorPrint.displayError("ERROR: Could not find package: " + declaration.importPackage);
 					System.err.println("     : Search path: " + path);
 				}
 				else
@@ -548,52 +564,27 @@ public class CompilerCPP extends LangCompiler
 			currentOutput.println(line);
 	}
 
-	@SuppressWarnings("ResultOfMethodCallIgnored")
 	@Override
 	public void createFileStreams(String fileName)
 	{
-		try
-		{
-			// Assure that the output directory exists. //
-			if (!Main.outDir.exists())
-				Main.outDir.mkdirs();
-			String parent = new File(fileName).getParent();
-			if (parent != null)
-				new File(Main.outDir.getPath() + '/' + parent).mkdirs();
-
-			// Set location. //
-			hppLocation = Main.outDir.getPath() + '/' + fileName + ".hpp";
-
-			// Create the output streams. //
-			cppStream = new PrintStream(Main.outDir.getPath() + '/' + fileName + ".cpp");
-			hppStream = new PrintStream(hppLocation);
-
-			cppOutput = new IndentPrinter(cppStream);
-			hppOutput = new IndentPrinter(hppStream);
-		}
-		catch (FileNotFoundException e)
-		{
-			e.printStackTrace();
-		}
+		// Set location. //
+		hppLocation = Main.outDir.getPath() + '/' + fileName + ".hpp";
+
+		cppFile = new File(Main.outDir.getPath() + '/' + fileName + ".cpp");
+		hppFile = new File(hppLocation);
 
+		// The output is kept in memory until the class is compiled. See closeStreams(). //
+		cppOutput = new IndentPrinter(INITIAL_OUTPUT_CAPACITY);
+		hppOutput = new IndentPrinter(INITIAL_OUTPUT_CAPACITY);
 	}
 
+	/**
+	 * Hands the finished files to the output writer. They are written in the background.
+	 */
 	@Override
 	public void closeStreams()
 	{
-		cppStream.flush();
-		cppStream.close();
-
-		try
-		{
-			Thread.sleep(100);
-		}
-		catch (InterruptedException e)
-		{
-			e.printStackTrace();
-		}
-
-		hppStream.flush();
-		hppStream.close();
+		Main.outputWriter.write(hppFile, hppOutput.toBytes());
+		Main.outputWriter.write(cppFile, cppOutput.toBytes());
 	}
 }
@@ -5,13 +5,17 @@ import compiler.LangCompiler;
 import compiler.Main;
 import compiler.ast.*;
 import compiler.lib.IndentPrinter;
+import compiler.lib.OutputWriter;
+import compiler.lib.SymbolFile;
+import compiler.lib.SymbolFile.RecordType;
 
-import java.io.FileNotFoundException;
-import java.io.PrintStream;
-import java.util.ArrayList;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * Compiles an AST into a .sym file.
+ * The binary format is written unless Main.textSymbols is set or symOutput is given.
  *
  * @author Tyrerexus
  * @date 5/4/17.
@@ -19,37 +23,86 @@ import java.util.ArrayList;
 
 public class CompilerSYM extends LangCompiler
 {
+	/**
+	 * Where the text format is written. Null when writing the binary format.
+	 */
 	public IndentPrinter symOutput = null;
-	private PrintStream symStream = null;
+
+	/**
+	 * True if symOutput is written to symFile once the class is compiled.
+	 */
+	private boolean writeSymOutput = false;
+
+	/**
+	 * The binary symbol file being built and where it's going.
+	 */
+	private SymbolFile symbolFile = null;
+	private File symFile = null;
+
+	public CompilerSYM()
+	{
+
+	}
+
+	/**
+	 * Creates a compiler that writes the binary format into a symbol file in memory, instead of to disk.
+	 * @param symbolFile Where to add the records.
+	 */
+	public CompilerSYM(SymbolFile symbolFile)
+	{
+		this.symbolFile = symbolFile;
+	}
 
 	@Override
 	public void compileClass(ASTClass astClass)
 	{
-		symOutput.println("ClassName: " + astClass.getName());
-		symOutput.println("CompilerVersion: " + Main.VERSION);
-		symOutput.println("ExtendsClass: " + astClass.extendsClass);
-		symOutput.println();
+		emit(RecordType.ClassName, astClass.getName());
+		emit(RecordType.CompilerVersion, Main.VERSION);
+		emit(RecordType.ExtendsClass, String.valueOf(astClass.extendsClass));
+		emitSeparator();
 
 		if (astClass.classImports.size() > 0)
 		{
 			for (ASTClass.ImportDeclaration importDeclaration : astClass.classImports)
 			{
-				symOutput.println("Dependency: " + importDeclaration.importPackage);
+				emit(RecordType.Dependency, importDeclaration.importPackage);
 			}
-			symOutput.println();
+			emitSeparator();
 		}
 		for (ASTBase node : astClass.children.getAll())
 		{
 			node.compileSelf(this);
-			symOutput.println();
+			emitSeparator();
 		}
 	}
 
+	/**
+	 * Writes a record in the chosen format.
+	 * @param type The kind of record.
+	 * @param values The values of the record.
+	 */
+	private void emit(RecordType type, String... values)
+	{
+		if (symOutput != null)
+			symOutput.println(type + ": " + String.join(" ", values));
+		else
+			symbolFile.add(type, values);
+	}
+
+	/**
+	 * Separates groups of records in the text format, to keep it readable.
+	 */
+	private void emitSeparator()
+	{
+		if (symOutput != null)
+			symOutput.println();
+	}
+
 	@Override
 	public void compileVariableDeclaration(ASTVariableDeclaration astVariableDeclaration)
 	{
-		symOutput.println("Var: " +
-				astVariableDeclaration.getName() + " " +
+		emit(RecordType.Var,
+				astVariableDeclaration.getName(),
 				astVariableDeclaration.getExpressionType().getTypeName());
 	}
 
@@ -59,8 +112,8 @@ public class CompilerSYM extends LangCompiler
 		for (ASTBase baseArg : astFunctionDeclaration.children.getArgs())
 		{
 			ASTVariableDeclaration arg = (ASTVariableDeclaration) baseArg;
-			symOutput.println("Arg: " +
-					arg.getName() + " " +
+			emit(RecordType.Arg,
+					arg.getName(),
 					arg.getExpressionType().getTypeName());
 		}
 		SpiritType returnType = astFunctionDeclaration.returnType;
@@ -68,8 +121,8 @@ public class CompilerSYM extends LangCompiler
 		{
 			System.err.println("COMPILER ERROR: No return type...");
 		}
-		symOutput.println("Fun: " +
-				astFunctionDeclaration.getParent().getName() + " " +
+		emit(RecordType.Fun,
+				astFunctionDeclaration.getParent().getName(),
 				returnType.getTypeName());
 	}
 
@@ -82,26 +135,31 @@ public class CompilerSYM extends LangCompiler
 		}
 	}
 
+	@SuppressWarnings("ResultOfMethodCallIgnored")
 	@Override
 	public void createFileStreams(String fileName)
 	{
-		try
+		// Assure that the output directory exists. //
+		symFile = new File("out/" + fileName + ".sym");
+		symFile.getParentFile().mkdirs();
+
+		if (Main.textSymbols)
 		{
-			symStream = new PrintStream("out/" + fileName + ".sym");
-			symOutput = new IndentPrinter(symStream);
+			symOutput = new IndentPrinter(1024);
+			writeSymOutput = true;
 		}
-		catch (FileNotFoundException e)
+		else
 		{
-			e.printStackTrace();
+			symbolFile = new SymbolFile(Main.VERSION);
 		}
-
 	}
 
 	@Override
-	public void closeStreams()
+	public void closeStreams() throws IOException
 	{
-		symStream.flush();
-		symStream.close();
+		// Written right away, since the symbol file is read back by the classes importing this one. //
+		ByteBuffer content = writeSymOutput ? symOutput.toBytes() : ByteBuffer.wrap(symbolFile.toBytes());
+		OutputWriter.writeNow(symFile, content);
 	}
 
 	@Override
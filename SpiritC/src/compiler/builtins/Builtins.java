@@ -2,42 +2,66 @@ package compiler.builtins;
 
 import compiler.SpiritType;
 
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * @author david
  * @date 4/12/17.
  */
 public class Builtins
 {
+	public static final SpiritType RATIONAL_NUMBER	= new TypeRationalNumber();
+	public static final SpiritType INT				= new TypeInteger();
+	public static final SpiritType BOOL				= new TypeBool();
+	public static final SpiritType CHAR				= new TypeChar();
+	public static final SpiritType DOUBLE			= new TypeDouble();
+	public static final SpiritType FLOAT			= new TypeFloat();
+	public static final SpiritType LONG				= new TypeLong();
+	public static final SpiritType SHORT			= new TypeShort();
+	public static final SpiritType STRING			= new TypeString();
+	public static final SpiritType VOID				= new TypeVoid();
+	public static final SpiritType FUNCTION			= new TypeFunction();
 
+	/**
+	 * The builtins by name.
+	 */
+	private static final HashMap<String, SpiritType> builtins = new HashMap<>();
 
+	static
+	{
+		for (SpiritType type : new SpiritType[] {RATIONAL_NUMBER, INT, BOOL, CHAR, DOUBLE, FLOAT, LONG, SHORT, STRING, VOID, FUNCTION})
+		{
+			builtins.put(type.getTypeName(), type);
+		}
+	}
 
-	private static SpiritType[] builtins = {
-			new TypeRationalNumber(),
-			new TypeInteger(),
-			new TypeBool(),
-			new TypeChar(),
-			new TypeDouble(),
-			new TypeFloat(),
-			new TypeLong(),
-			new TypeShort(),
-			new TypeString(),
-			new TypeVoid(),
-			new TypeFunction(),
-	};
+	/**
+	 * Types that are referred to by name but aren't builtins, e.g types declared later on.
+	 * There is only one of each during a compilation, so two references to the same type are the same object.
+	 */
+	private static final ConcurrentHashMap<String, TypeUndefined> undefinedTypes = new ConcurrentHashMap<>();
 
+	/**
+	 * Finds a builtin type by name.
+	 * @param name The name of the type.
+	 * @return The builtin. A shared TypeUndefined if there is no builtin with the name.
+	 */
 	public static SpiritType getBuiltin(String name)
 	{
-		// FIXME: This is so slow onii-chan. I want a direct reference to the builtins too. //
-
-		for (SpiritType type : builtins)
-		{
-			if (name.equals(type.getTypeName()))
-			{
-				return type;
-			}
-		}
+		SpiritType type = builtins.get(name);
+		if (type != null)
+			return type;
 
 		// FIXME: Is this the best way?
-		return new TypeUndefined(name);
+		return undefinedTypes.computeIfAbsent(name, TypeUndefined::new);
+	}
+
+	/**
+	 * Forgets the undefined types of the previous compilation.
+	 */
+	public static void clearUndefinedTypes()
+	{
+		undefinedTypes.clear();
 	}
 }
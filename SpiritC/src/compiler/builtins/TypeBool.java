@@ -1,6 +1,7 @@
 package compiler.builtins;
 
 import compiler.SpiritType;
+import compiler.TypeRegistry;
 import compiler.ast.ASTBase;
 
 import java.util.ArrayList;
@@ -11,6 +12,7 @@ import java.util.ArrayList;
  */
 public class TypeBool implements SpiritType
 {
+	private final TypeRegistry.TypeInfo typeInfo = TypeRegistry.register();
 
 	@Override
 	public String getTypeName()
@@ -35,4 +37,10 @@ public class TypeBool implements SpiritType
 	{
 		return null;
 	}
+
+	@Override
+	public TypeRegistry.TypeInfo getTypeInfo()
+	{
+		return typeInfo;
+	}
 }
@@ -1,6 +1,7 @@
 package compiler.builtins;
 
 import compiler.SpiritType;
+import compiler.TypeRegistry;
 import compiler.ast.ASTBase;
 
 import java.util.ArrayList;
@@ -11,6 +12,8 @@ import java.util.ArrayList;
  */
 public class TypeChar implements SpiritType
 {
+	private final TypeRegistry.TypeInfo typeInfo = TypeRegistry.register();
+
 	@Override
 	public String getTypeName()
 	{
@@ -32,6 +35,12 @@ public class TypeChar implements SpiritType
 	@Override
 	public SpiritType getSuperType()
 	{
-		return Builtins.getBuiltin("rational_number");
+		return Builtins.RATIONAL_NUMBER;
+	}
+
+	@Override
+	public TypeRegistry.TypeInfo getTypeInfo()
+	{
+		return typeInfo;
 	}
 }
@@ -0,0 +1,266 @@
+package compiler.lib;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts what the compiler does during a build, and reports it together with the timings of {@link PhaseTimer}.
+ *
+ * Nothing is counted unless {@link #enabled} is set, so the counters cost next to nothing in a normal build.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+public class BuildStats
+{
+	public enum Counter
+	{
+		TOKENS("Tokens"),
+		AST_NODES("AST nodes"),
+		SYMBOL_LOOKUPS("Symbol lookups"),
+		CLASSES_COMPILED("Classes compiled"),
+		SYM_HITS("Classes loaded from .sym"),
+		SYM_DECODES_REUSED("Decoded .sym files reused"),
+		PATH_STATS("Path search stat calls");
+
+		public final String description;
+
+		Counter(String description)
+		{
+			this.description = description;
+		}
+	}
+
+	private static final Counter[] COUNTERS = Counter.values();
+
+	/**
+	 * How many classes are listed in the printed report. The JSON has them all.
+	 */
+	private static final int REPORTED_CLASSES = 20;
+
+	/**
+	 * Count things. Set before the build starts.
+	 */
+	public static boolean enabled = false;
+
+	private static final LongAdder[] counts = new LongAdder[COUNTERS.length];
+
+	static
+	{
+		for (int i = 0; i < counts.length; i++)
+			counts[i] = new LongAdder();
+	}
+
+	/**
+	 * Counts one more of something.
+	 * @param counter What happened.
+	 */
+	public static void count(Counter counter)
+	{
+		if (enabled)
+			counts[counter.ordinal()].increment();
+	}
+
+	/**
+	 * Counts more of something.
+	 * @param counter What happened.
+	 * @param amount How many times it happened.
+	 */
+	public static void add(Counter counter, long amount)
+	{
+		if (enabled)
+			counts[counter.ordinal()].add(amount);
+	}
+
+	/**
+	 * @param counter A counter.
+	 * @return What has been counted so far.
+	 */
+	public static long get(Counter counter)
+	{
+		return counts[counter.ordinal()].sum();
+	}
+
+	/**
+	 * Forgets all counts, e.g before the next build of the compile server.
+	 */
+	public static void reset()
+	{
+		for (LongAdder count : counts)
+			count.reset();
+	}
+
+	/**
+	 * Prints the phases and the classes that took the longest first, followed by the counters.
+	 * @param out Where to print.
+	 */
+	public static void report(PrintStream out)
+	{
+		List<PhaseTimer.Phase> phases = new ArrayList<>(Arrays.asList(PhaseTimer.Phase.values()));
+		phases.removeIf(phase -> PhaseTimer.getRuns(phase) == 0);
+		phases.sort(Comparator.comparingLong(PhaseTimer::getNanos).reversed());
+
+		out.println("Phases:");
+		out.printf("\t%-20s%12s%12s%14s%8s%n", "Phase", "Wall (ms)", "CPU (ms)", "Allocated", "Runs");
+		long[] total = new long[PhaseTimer.Measure.values().length];
+		for (PhaseTimer.Phase phase : phases)
+		{
+			long[] measures = new long[total.length];
+			for (PhaseTimer.Measure measure : PhaseTimer.Measure.values())
+			{
+				measures[measure.ordinal()] = PhaseTimer.get(phase, measure);
+				total[measure.ordinal()] += measures[measure.ordinal()];
+			}
+			printMeasures(out, phase.description, measures, Long.toString(PhaseTimer.getRuns(phase)));
+		}
+		printMeasures(out, "Total", total, "");
+
+		List<Map.Entry<String, long[]>> classes = sumClasses();
+		out.println();
+		out.println("Slowest classes:");
+		out.printf("\t%-20s%12s%12s%14s%n", "Class", "Wall (ms)", "CPU (ms)", "Allocated");
+		for (Map.Entry<String, long[]> entry : classes.subList(0, Math.min(REPORTED_CLASSES, classes.size())))
+			printMeasures(out, entry.getKey(), entry.getValue(), "");
+		if (classes.size() > REPORTED_CLASSES)
+			out.println("\t... and " + (classes.size() - REPORTED_CLASSES) + " more.");
+
+		out.println();
+		out.println("Counters:");
+		for (Counter counter : COUNTERS)
+			out.printf("\t%-28s%12d%n", counter.description, get(counter));
+	}
+
+	private static void printMeasures(PrintStream out, String name, long[] measures, String runs)
+	{
+		out.printf("\t%-20s%12.2f%12.2f%14s%8s%n", name,
+				measures[PhaseTimer.Measure.WALL_NANOS.ordinal()] / 1e6,
+				measures[PhaseTimer.Measure.CPU_NANOS.ordinal()] / 1e6,
+				formatBytes(measures[PhaseTimer.Measure.ALLOCATED_BYTES.ordinal()]), runs);
+	}
+
+	private static String formatBytes(long bytes)
+	{
+		if (bytes < 1024)
+			return bytes + " B";
+		if (bytes < 1024 * 1024)
+			return String.format("%.1f KB", bytes / 1024.0);
+		return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+	}
+
+	/**
+	 * @return Every class with the sum of its phases, the slowest class first.
+	 */
+	private static List<Map.Entry<String, long[]>> sumClasses()
+	{
+		List<Map.Entry<String, long[]>> classes = new ArrayList<>();
+		for (Map.Entry<String, Map<PhaseTimer.Phase, long[]>> entry : PhaseTimer.getClassTotals().entrySet())
+		{
+			long[] sum = new long[PhaseTimer.Measure.values().length];
+			for (long[] measures : entry.getValue().values())
+			{
+				for (int i = 0; i < sum.length; i++)
+					sum[i] += measures[i];
+			}
+			classes.add(new AbstractMap.SimpleEntry<>(entry.getKey(), sum));
+		}
+		classes.sort(Comparator.comparingLong(
+				(Map.Entry<String, long[]> entry) -> entry.getValue()[PhaseTimer.Measure.WALL_NANOS.ordinal()]).reversed());
+		return classes;
+	}
+
+	/**
+	 * Writes everything that has been measured and counted as JSON.
+	 * @param file Where to write.
+	 * @throws IOException If the file could not be written.
+	 */
+	public static void writeJson(File file) throws IOException
+	{
+		StringBuilder json = new StringBuilder("{\n");
+
+		json.append("  \"phases\": {");
+		String separator = "\n";
+		for (PhaseTimer.Phase phase : PhaseTimer.Phase.values())
+		{
+			if (PhaseTimer.getRuns(phase) == 0)
+				continue;
+
+			long[] measures = new long[PhaseTimer.Measure.values().length];
+			for (PhaseTimer.Measure measure : PhaseTimer.Measure.values())
+				measures[measure.ordinal()] = PhaseTimer.get(phase, measure);
+
+			json.append(separator).append("    ").append(quote(phase.name())).append(": {");
+			appendMeasures(json, measures);
+			json.append(", \"runs\": ").append(PhaseTimer.getRuns(phase)).append("}");
+			separator = ",\n";
+		}
+		json.append("\n  },\n");
+
+		json.append("  \"classes\": {");
+		separator = "\n";
+		Map<String, Map<PhaseTimer.Phase, long[]>> classTotals = PhaseTimer.getClassTotals();
+		for (Map.Entry<String, long[]> entry : sumClasses())
+		{
+			json.append(separator).append("    ").append(quote(entry.getKey())).append(": {");
+			appendMeasures(json, entry.getValue());
+			json.append(", \"phases\": {");
+			String phaseSeparator = "";
+			for (Map.Entry<PhaseTimer.Phase, long[]> phase : classTotals.get(entry.getKey()).entrySet())
+			{
+				if (phase.getValue()[PhaseTimer.Measure.WALL_NANOS.ordinal()] == 0)
+					continue;
+				json.append(phaseSeparator).append(quote(phase.getKey().name())).append(": {");
+				appendMeasures(json, phase.getValue());
+				json.append("}");
+				phaseSeparator = ", ";
+			}
+			json.append("}}");
+			separator = ",\n";
+		}
+		json.append("\n  },\n");
+
+		json.append("  \"counters\": {");
+		separator = "\n";
+		for (Counter counter : COUNTERS)
+		{
+			json.append(separator).append("    ").append(quote(counter.name())).append(": ").append(get(counter));
+			separator = ",\n";
+		}
+		json.append("\n  }\n}\n");
+
+		Files.write(file.toPath(), json.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Appends the members of a JSON object that hold the measures, without the braces around them.
+	 */
+	private static void appendMeasures(StringBuilder json, long[] measures)
+	{
+		json.append("\"wallNanos\": ").append(measures[PhaseTimer.Measure.WALL_NANOS.ordinal()])
+				.append(", \"cpuNanos\": ").append(measures[PhaseTimer.Measure.CPU_NANOS.ordinal()])
+				.append(", \"allocatedBytes\": ").append(measures[PhaseTimer.Measure.ALLOCATED_BYTES.ordinal()]);
+	}
+
+	/**
+	 * @param value Any string.
+	 * @return The string as a JSON string literal.
+	 */
+	static String quote(String value)
+	{
+		StringBuilder quoted = new StringBuilder("\"");
+		for (char c : value.toCharArray())
+		{
+			if (c == '"' || c == '\\')
+				quoted.append('\\').append(c);
+			else if (c < ' ')
+				quoted.append(String.format("\\u%04x", (int) c));
+			else
+				quoted.append(c);
+		}
+		return quoted.append('"').toString();
+	}
+}
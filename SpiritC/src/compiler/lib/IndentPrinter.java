@@ -1,20 +1,40 @@
 package compiler.lib;
 
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * This class can print strings and objects while indenting lines by a counter.
  *
+ * It either prints straight to a stream, or collects everything in memory until {@link #toBytes()} is called.
+ * The backends collect in memory, since a file is written in one go once it is complete.
+ *
  * @author Tyrerexus
  * @date 4/12/17.
  */
 public class IndentPrinter
 {
+	private static final String INDENT = "  ";
+
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	/**
+	 * The indentation strings by depth. Grown as deeper indentation is needed.
+	 */
+	private static volatile String[] indents = {""};
+
 	/**
-	 * On what stream to print to.
+	 * On what stream to print to. Null when printing into the buffer.
 	 */
 	private PrintStream destination;
 
+	/**
+	 * What has been printed so far. Null when printing to a stream.
+	 */
+	private StringBuilder buffer;
+
 	/**
 	 * True if nothing has been written since new line.
 	 */
@@ -30,20 +50,34 @@ public class IndentPrinter
 		this.destination = destination;
 	}
 
+	/**
+	 * Creates an IndentPrinter that prints into memory.
+	 * @param initialCapacity How many characters to make room for from the start.
+	 */
+	public IndentPrinter(int initialCapacity)
+	{
+		this.buffer = new StringBuilder(initialCapacity);
+	}
+
 	/**
 	 * Prints the object and then prints a newline.
 	 * @param what The object to print.
 	 */
 	public void println(Object what)
 	{
-		if (new_line_clean)
+		if (buffer != null)
 		{
-			for (int i = 0; i < indentation; i++)
-			{
-				destination.print("  ");
-			}
+			appendIndentation();
+			buffer.append(what).append(LINE_SEPARATOR);
+		}
+		else if (new_line_clean)
+		{
+			destination.println(getIndent(indentation) + what);
+		}
+		else
+		{
+			destination.println(what);
 		}
-		destination.println(what);
 		new_line_clean = true;
 	}
 
@@ -61,16 +95,57 @@ public class IndentPrinter
 	 */
 	public void print(Object what)
 	{
-		if (new_line_clean)
+		if (buffer != null)
 		{
-			for (int i = 0; i < indentation; i++)
-			{
-				destination.print("  ");
-			}
+			appendIndentation();
+			buffer.append(what);
+		}
+		else if (new_line_clean)
+		{
+			destination.print(getIndent(indentation) + what);
+		}
+		else
+		{
+			destination.print(what);
 		}
-		destination.print(what);
 		new_line_clean = false;
 	}
 
+	/**
+	 * Encodes everything that has been printed into memory.
+	 * @return The printed text as UTF-8. Ready to be written to a file.
+	 */
+	public ByteBuffer toBytes()
+	{
+		return StandardCharsets.UTF_8.encode(CharBuffer.wrap(buffer));
+	}
+
+	private void appendIndentation()
+	{
+		if (new_line_clean)
+			buffer.append(getIndent(indentation));
+	}
+
+	/**
+	 * @param depth The indentation.
+	 * @return The string that indents a line by depth.
+	 */
+	private static String getIndent(int depth)
+	{
+		if (depth <= 0)
+			return "";
+
+		String[] known = indents;
+		if (depth < known.length)
+			return known[depth];
 
+		String[] grown = new String[Math.max(depth + 1, known.length * 2)];
+		grown[0] = "";
+		for (int i = 1; i < grown.length; i++)
+		{
+			grown[i] = grown[i - 1] + INDENT;
+		}
+		indents = grown;
+		return grown[depth];
+	}
 }
@@ -0,0 +1,236 @@
+package compiler.lib;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class writes finished output files on background threads.
+ *
+ * A file is first written to a temporary file next to its destination, forced to disk and then renamed
+ * into place. Thus a half written file is never visible.
+ * The queue of files is bounded. When it's full, the compile thread writes the file itself.
+ * Errors are collected and handed to whoever calls {@link #finish()}.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+public class OutputWriter
+{
+	private static final int THREADS = 2;
+	private static final int QUEUE_SIZE = 64;
+
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * Errors that occurred since the last call to {@link #finish()}.
+	 */
+	private final List<IOException> errors = new ArrayList<>();
+
+	/**
+	 * How many files that are queued or being written.
+	 */
+	private int pending = 0;
+
+	/**
+	 * The files that are queued or being written, by their absolute path, with how many writes of each there are.
+	 */
+	private final Map<Path, Integer> pendingFiles = new HashMap<>();
+
+	public OutputWriter()
+	{
+		executor = new ThreadPoolExecutor(THREADS, THREADS, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(QUEUE_SIZE),
+				runnable -> {
+					Thread thread = new Thread(runnable, "spirit-output-writer");
+					thread.setDaemon(true);
+					return thread;
+				},
+				new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	/**
+	 * Queues a file to be written.
+	 * @param destination Where to put the file.
+	 * @param content The complete content of the file.
+	 */
+	public void write(File destination, byte[] content)
+	{
+		write(destination, ByteBuffer.wrap(content));
+	}
+
+	/**
+	 * Queues a file to be written.
+	 * @param destination Where to put the file.
+	 * @param content The complete content of the file, from its position to its limit. Must not be changed afterwards.
+	 */
+	public void write(File destination, ByteBuffer content)
+	{
+		Path key = key(destination);
+		synchronized (this)
+		{
+			pending++;
+			pendingFiles.merge(key, 1, Integer::sum);
+		}
+
+		executor.execute(() -> {
+			try
+			{
+				// Before anybody waiting for the file wakes up. //
+				writeNow(destination, content);
+			}
+			catch (IOException e)
+			{
+				synchronized (this)
+				{
+					errors.add(e);
+				}
+			}
+			finally
+			{
+				synchronized (this)
+				{
+					pending--;
+					pendingFiles.computeIfPresent(key, (file, count) -> count == 1 ? null : count - 1);
+					notifyAll();
+				}
+			}
+		});
+	}
+
+	/**
+	 * Blocks until all queued files have been written.
+	 */
+	public synchronized void awaitPending()
+	{
+		while (pending > 0)
+		{
+			try
+			{
+				wait();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Blocks until a file has been written, if it is queued.
+	 * @param file The file.
+	 */
+	public synchronized void awaitFile(File file)
+	{
+		Path key = key(file);
+		while (pendingFiles.containsKey(key))
+		{
+			try
+			{
+				wait();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private static Path key(File file)
+	{
+		return file.toPath().toAbsolutePath().normalize();
+	}
+
+	/**
+	 * Waits for all queued files and returns the errors that occurred while writing them.
+	 * @return The errors. Empty if everything was written.
+	 */
+	public synchronized List<IOException> finish()
+	{
+		awaitPending();
+		List<IOException> finished = new ArrayList<>(errors);
+		errors.clear();
+		return finished;
+	}
+
+	/**
+	 * Writes a file on this thread, the same way as the queued files are written.
+	 * For files that are read back right away.
+	 * @param destination Where to put the file.
+	 * @param content The complete content of the file, from its position to its limit.
+	 * @throws IOException If the file could not be written. The old file, if any, is left as it was.
+	 */
+	public static void writeNow(File destination, ByteBuffer content) throws IOException
+	{
+		writeFile(destination.toPath(), content);
+		PathFind.added(destination);
+	}
+
+	private static void writeFile(Path destination, ByteBuffer content) throws IOException
+	{
+		Path directory = destination.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+
+		// Not createTempFile(), which would leave the output readable by its owner only. //
+		// A new file gets the same permissions as one written by a PrintStream.         //
+		Path temporary;
+		FileChannel channel;
+		while (true)
+		{
+			temporary = directory.resolve(destination.getFileName() + "."
+					+ Integer.toHexString(ThreadLocalRandom.current().nextInt()) + ".tmp");
+			try
+			{
+				channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW);
+				break;
+			}
+			catch (FileAlreadyExistsException e)
+			{
+				// Somebody else picked the same name, pick another one. //
+			}
+		}
+
+		try
+		{
+			try
+			{
+				// One write, unless the system wants it in pieces. //
+				ByteBuffer buffer = content.duplicate();
+				while (buffer.hasRemaining())
+				{
+					channel.write(buffer);
+				}
+				channel.force(true);
+			}
+			finally
+			{
+				channel.close();
+			}
+
+			try
+			{
+				Files.move(temporary, destination, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch (AtomicMoveNotSupportedException e)
+			{
+				Files.move(temporary, destination, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally
+		{
+			Files.deleteIfExists(temporary);
+		}
+	}
+}
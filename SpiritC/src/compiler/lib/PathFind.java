@@ -1,15 +1,56 @@
 package compiler.lib;
 
 import java.io.File;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class can find files that are located within a path variable.
  *
+ * Every directory that is searched is listed once and remembered, and so is every file that is found.
+ * Files that the build writes are added to the listings through {@link #added(File)}, so a directory is never
+ * listed twice. Call {@link #invalidate()} when files might have been changed by others, e.g before every build.
+ *
  * @author Tyrerexus
  * @date 5/4/17.
  */
 public class PathFind
 {
+	/**
+	 * The path that the caches belong to.
+	 */
+	private static String indexedPath = null;
+
+	/**
+	 * The locations of indexedPath that are directories.
+	 */
+	private static String[] roots = new String[0];
+
+	/**
+	 * The names in every directory that has been listed, by the absolute path of the directory.
+	 * Empty for directories that don't exist.
+	 */
+	private static final Map<String, Set<String>> listings = new ConcurrentHashMap<>();
+
+	/**
+	 * The files that have been found, by the name they were looked for with.
+	 */
+	private static final Map<String, String> found = new ConcurrentHashMap<>();
+
+	/**
+	 * Forgets everything that has been looked up.
+	 */
+	public static synchronized void invalidate()
+	{
+		indexedPath = null;
+		roots = new String[0];
+		listings.clear();
+		found.clear();
+	}
+
 	/**
 	 * Finds a file in a path.
 	 * @param path The path to search through.
@@ -18,16 +59,73 @@ public class PathFind
 	 */
 	public static String findInPath(String path, String toFind)
 	{
-		// Parse the path. //
-		String[] locations = path.split(":");
+		String[] locations = getRoots(path);
+
+		String result = found.get(toFind);
+		if (result != null)
+			return result;
+
+		result = search(locations, toFind);
+		if (result != null)
+			found.put(toFind, result);
+		return result;
+	}
+
+	/**
+	 * Parses a path, or reuses the last parse of it.
+	 * @param path The path.
+	 * @return The locations in the path that are directories.
+	 */
+	private static synchronized String[] getRoots(String path)
+	{
+		if (!path.equals(indexedPath))
+		{
+			invalidate();
+
+			// Parse the path. //
+			roots = Arrays.stream(path.split(":"))
+					.filter(location -> {
+						BuildStats.count(BuildStats.Counter.PATH_STATS);
+						return new File(location).isDirectory();
+					})
+					.toArray(String[]::new);
+			indexedPath = path;
+		}
+		return roots;
+	}
+
+	/**
+	 * Adds a file that has just been written to the listing of its directory, if the directory has been listed.
+	 * @param file The file.
+	 */
+	public static void added(File file)
+	{
+		File directory = file.getAbsoluteFile().getParentFile();
+		if (directory == null)
+			return;
+
+		// Waits for a listing of the directory that is being read right now, which might have missed the file. //
+		listings.computeIfPresent(key(directory.getPath()), (key, names) -> {
+			names.add(file.getName());
+			return names;
+		});
+	}
+
+	private static String search(String[] locations, String toFind)
+	{
+		int slash = toFind.lastIndexOf('/');
+		String directory = slash == -1 ? "" : "/" + toFind.substring(0, slash);
+		String name = toFind.substring(slash + 1);
+
 		for (String location : locations)
 		{
-			File locationFile = new File(location);
-			if (locationFile.exists() && locationFile.isDirectory())
+			// Try to match the location. //
+			String locationDirectory = location + directory;
+			if (list(locationDirectory).contains(name))
 			{
-				// Try to match the location. //
-				File file = new File(location+ "/" + toFind);
-				if (file.exists() && !file.isDirectory())
+				File file = new File(location + "/" + toFind);
+				BuildStats.count(BuildStats.Counter.PATH_STATS);
+				if (!file.isDirectory())
 				{
 					return file.getPath();
 				}
@@ -35,4 +133,33 @@ public class PathFind
 		}
 		return null;
 	}
+
+	/**
+	 * Lists a directory, or reuses the last listing of it.
+	 * @param directory The directory.
+	 * @return The names in the directory. Empty if it is not a directory.
+	 */
+	private static Set<String> list(String directory)
+	{
+		return listings.computeIfAbsent(key(directory), key -> {
+			BuildStats.count(BuildStats.Counter.PATH_STATS);
+
+			// Files may be added by other threads while the listing is read. //
+			Set<String> names = ConcurrentHashMap.newKeySet();
+			String[] list = new File(key).list();
+			if (list != null)
+				names.addAll(Arrays.asList(list));
+			return names;
+		});
+	}
+
+	/**
+	 * The same directory is reached through different paths, e.g "./out" and "out".
+	 * @param directory A path to a directory.
+	 * @return The key of the listing of the directory.
+	 */
+	private static String key(String directory)
+	{
+		return Paths.get(directory).toAbsolutePath().normalize().toString();
+	}
 }
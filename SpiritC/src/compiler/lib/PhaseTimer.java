@@ -0,0 +1,282 @@
+package compiler.lib;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Measures how much time the compiler spends in each of its phases, summed over all classes and threads.
+ *
+ * Phases nest, e.g a parse imports another class which is then parsed, polished and so on.
+ * The time of a nested phase is only counted for the nested phase, not for the phase around it.
+ *
+ * The wall time of every phase is always measured. The CPU time, the allocated bytes and the measures of every
+ * class are only kept once {@link #detailed} is set, since asking the JVM for them costs more than the time itself.
+ * Every phase is also a span of the {@link Tracer}, so the trace and the timings always cover the same code.
+ *
+ * Usage:
+ * <pre>
+ * PhaseTimer.start(PhaseTimer.Phase.PARSE, className);
+ * try { ... } finally { PhaseTimer.stop(); }
+ * </pre>
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+public class PhaseTimer
+{
+	public enum Phase
+	{
+		SCAN("Scanning imports", "scanImports"),
+		PARSE("Parsing", "parseFile"),
+		LOAD("Loading symbols", "loadSymbols"),
+		CHECK("Checking", "checkIntegrity"),
+		POLISH("Polishing", "polishClass"),
+		RESOLVE("Resolving names", "resolveClass"),
+		EMIT("Emitting code", "compileClass"),
+		EMIT_SYMBOLS("Emitting symbols", "compileSymbols");
+
+		public final String description;
+
+		/**
+		 * The name of the spans of the phase in the trace.
+		 */
+		public final String traceName;
+
+		Phase(String description, String traceName)
+		{
+			this.description = description;
+			this.traceName = traceName;
+		}
+	}
+
+	/**
+	 * What is measured of a phase.
+	 */
+	public enum Measure
+	{
+		WALL_NANOS, CPU_NANOS, ALLOCATED_BYTES
+	}
+
+	private static final Phase[] PHASES = Phase.values();
+
+	private static final int MEASURES = Measure.values().length;
+
+	/**
+	 * Also measure the CPU time and the allocated bytes of every phase.
+	 */
+	public static boolean detailed = false;
+
+	private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+	/**
+	 * What is measured of each phase, not counting nested phases. See index().
+	 */
+	private static final AtomicLongArray totals = new AtomicLongArray(PHASES.length * MEASURES);
+
+	/**
+	 * How many times each phase has been run. Indexed by the ordinal of the phase.
+	 */
+	private static final AtomicLongArray runs = new AtomicLongArray(PHASES.length);
+
+	/**
+	 * What is measured of each phase of every class. Laid out like totals.
+	 */
+	private static final Map<String, AtomicLongArray> classTotals = new ConcurrentHashMap<>();
+
+	/**
+	 * A phase that is running.
+	 */
+	private static class Frame
+	{
+		final Phase phase;
+
+		/** The class that the phase works on. Null if it doesn't work on one class. */
+		final String className;
+
+		/** What was measured when the phase started. Indexed by the ordinal of the measure. */
+		final long[] start = new long[MEASURES];
+
+		/** What was measured of the phases that ran inside this one. */
+		final long[] nested = new long[MEASURES];
+
+		Frame(Phase phase, String className)
+		{
+			this.phase = phase;
+			this.className = className;
+		}
+	}
+
+	/**
+	 * The phases that are running on this thread.
+	 */
+	private static final ThreadLocal<ArrayDeque<Frame>> running = ThreadLocal.withInitial(ArrayDeque::new);
+
+	/**
+	 * Starts timing a phase on this thread. Every call has to be followed by a call to {@link #stop()}.
+	 * @param phase The phase that starts.
+	 */
+	public static void start(Phase phase)
+	{
+		start(phase, null);
+	}
+
+	/**
+	 * Starts timing a phase of a class on this thread. Every call has to be followed by a call to {@link #stop()}.
+	 * @param phase The phase that starts.
+	 * @param className The class that the phase works on.
+	 */
+	public static void start(Phase phase, String className)
+	{
+		Tracer.begin(phase.traceName, className);
+
+		Frame frame = new Frame(phase, className);
+		sample(frame.start);
+		running.get().push(frame);
+	}
+
+	/**
+	 * Stops timing the phase that was started last on this thread.
+	 */
+	public static void stop()
+	{
+		long[] now = new long[MEASURES];
+		sample(now);
+
+		ArrayDeque<Frame> stack = running.get();
+		Frame frame = stack.pop();
+		Frame outer = stack.peek();
+
+		AtomicLongArray perClass = frame.className == null || !detailed ? null
+				: classTotals.computeIfAbsent(frame.className, name -> new AtomicLongArray(PHASES.length * MEASURES));
+
+		for (int measure = 0; measure < MEASURES; measure++)
+		{
+			long elapsed = now[measure] - frame.start[measure];
+			int index = index(frame.phase, measure);
+			totals.addAndGet(index, elapsed - frame.nested[measure]);
+			if (perClass != null)
+				perClass.addAndGet(index, elapsed - frame.nested[measure]);
+
+			// The phase around this one didn't do anything while this one ran. //
+			if (outer != null)
+				outer.nested[measure] += elapsed;
+		}
+		runs.incrementAndGet(frame.phase.ordinal());
+
+		Tracer.end();
+	}
+
+	/**
+	 * Measures the current thread.
+	 * @param into Where to put the measures. Indexed by the ordinal of the measure.
+	 */
+	private static void sample(long[] into)
+	{
+		into[Measure.WALL_NANOS.ordinal()] = System.nanoTime();
+		if (!detailed)
+			return;
+
+		into[Measure.CPU_NANOS.ordinal()] = threads.isCurrentThreadCpuTimeSupported()
+				? threads.getCurrentThreadCpuTime() : 0;
+		into[Measure.ALLOCATED_BYTES.ordinal()] = threads instanceof com.sun.management.ThreadMXBean
+				? ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId())
+				: 0;
+	}
+
+	private static int index(Phase phase, int measure)
+	{
+		return phase.ordinal() * MEASURES + measure;
+	}
+
+	/**
+	 * @param phase A phase.
+	 * @return The time spent in the phase so far, in nanoseconds.
+	 */
+	public static long getNanos(Phase phase)
+	{
+		return get(phase, Measure.WALL_NANOS);
+	}
+
+	/**
+	 * @param phase A phase.
+	 * @param measure What to get.
+	 * @return What has been measured of the phase so far.
+	 */
+	public static long get(Phase phase, Measure measure)
+	{
+		return totals.get(index(phase, measure.ordinal()));
+	}
+
+	/**
+	 * @param phase A phase.
+	 * @return How many times the phase has been run.
+	 */
+	public static long getRuns(Phase phase)
+	{
+		return runs.get(phase.ordinal());
+	}
+
+	/**
+	 * @return What has been measured of every phase of every class so far, by class and then by phase.
+	 * Each entry is indexed by the ordinal of the measure.
+	 */
+	public static Map<String, Map<Phase, long[]>> getClassTotals()
+	{
+		Map<String, Map<Phase, long[]>> result = new HashMap<>();
+		for (Map.Entry<String, AtomicLongArray> entry : classTotals.entrySet())
+		{
+			Map<Phase, long[]> phases = new EnumMap<>(Phase.class);
+			for (Phase phase : PHASES)
+			{
+				long[] measures = new long[MEASURES];
+				for (int measure = 0; measure < MEASURES; measure++)
+					measures[measure] = entry.getValue().get(index(phase, measure));
+				phases.put(phase, measures);
+			}
+			result.put(entry.getKey(), phases);
+		}
+		return result;
+	}
+
+	/**
+	 * Forgets all timings, e.g before the next build of the compile server.
+	 */
+	public static void reset()
+	{
+		for (int i = 0; i < totals.length(); i++)
+			totals.set(i, 0);
+		for (int i = 0; i < PHASES.length; i++)
+			runs.set(i, 0);
+		classTotals.clear();
+	}
+
+	/**
+	 * Prints the time spent in every phase that has been run.
+	 * @param out Where to print.
+	 */
+	public static void report(PrintStream out)
+	{
+		long total = 0;
+		for (Phase phase : PHASES)
+			total += getNanos(phase);
+
+		out.println("Phase timings:");
+		for (Phase phase : PHASES)
+		{
+			long runCount = getRuns(phase);
+			if (runCount == 0)
+				continue;
+
+			out.printf("\t%-20s%10.2f ms%6.1f %%%8d runs%n", phase.description,
+					getNanos(phase) / 1e6, total == 0 ? 0.0 : 100.0 * getNanos(phase) / total, runCount);
+		}
+		out.printf("\t%-20s%10.2f ms%n", "Total", total / 1e6);
+	}
+}
@@ -0,0 +1,266 @@
+package compiler.lib;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * The binary form of a .sym file.
+ *
+ * A symbol file is a list of records such as "Var: a int". Every string is stored once in a string table
+ * and the records refer to the strings by their index, so type names that occur many times are only stored once.
+ *
+ * Layout:
+ * <pre>
+ * int     MAGIC
+ * short   FORMAT_VERSION
+ * string  compiler version
+ * int     CRC32 of everything below
+ * int     string count, followed by the strings
+ * int     record count, followed by the records: byte type, byte value count, int string index per value
+ * </pre>
+ * A string is an int length followed by that many bytes of UTF-8.
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+public class SymbolFile
+{
+	/**
+	 * The kinds of records. The names are the keys used by the text format.
+	 */
+	public enum RecordType
+	{
+		ClassName,
+		CompilerVersion,
+		ExtendsClass,
+		Dependency,
+		Var,
+		Arg,
+		Fun
+	}
+
+	/**
+	 * One record, e.g "Var: a int".
+	 */
+	public static class Record
+	{
+		public final RecordType type;
+		public final String[] values;
+
+		Record(RecordType type, String[] values)
+		{
+			this.type = type;
+			this.values = values;
+		}
+	}
+
+	/**
+	 * "SYMB". Text files never start with this.
+	 */
+	public static final int MAGIC = 0x53594D42;
+
+	public static final short FORMAT_VERSION = 1;
+
+	private String compilerVersion;
+	private List<Record> records = new ArrayList<>();
+
+	public SymbolFile(String compilerVersion)
+	{
+		this.compilerVersion = compilerVersion;
+	}
+
+	/**
+	 * Appends a record.
+	 * @param type The kind of record.
+	 * @param values The values of the record.
+	 */
+	public void add(RecordType type, String... values)
+	{
+		records.add(new Record(type, values));
+	}
+
+	public List<Record> getRecords()
+	{
+		return records;
+	}
+
+	public String getCompilerVersion()
+	{
+		return compilerVersion;
+	}
+
+	/**
+	 * Encodes the symbol file.
+	 * @return The bytes to write to disk.
+	 */
+	public byte[] toBytes()
+	{
+		try
+		{
+			// Build the string table in order of first use. //
+			Map<String, Integer> stringIndices = new LinkedHashMap<>();
+			for (Record record : records)
+			{
+				for (String value : record.values)
+				{
+					if (!stringIndices.containsKey(value))
+						stringIndices.put(value, stringIndices.size());
+				}
+			}
+
+			ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+			DataOutputStream body = new DataOutputStream(bodyBytes);
+			body.writeInt(stringIndices.size());
+			for (String string : stringIndices.keySet())
+			{
+				writeString(body, string);
+			}
+			body.writeInt(records.size());
+			for (Record record : records)
+			{
+				body.writeByte(record.type.ordinal());
+				body.writeByte(record.values.length);
+				for (String value : record.values)
+				{
+					body.writeInt(stringIndices.get(value));
+				}
+			}
+			body.flush();
+
+			CRC32 crc = new CRC32();
+			crc.update(bodyBytes.toByteArray());
+
+			ByteArrayOutputStream fileBytes = new ByteArrayOutputStream();
+			DataOutputStream file = new DataOutputStream(fileBytes);
+			file.writeInt(MAGIC);
+			file.writeShort(FORMAT_VERSION);
+			writeString(file, compilerVersion);
+			file.writeInt((int) crc.getValue());
+			bodyBytes.writeTo(file);
+			file.flush();
+			return fileBytes.toByteArray();
+		}
+		catch (IOException e)
+		{
+			// Memory streams don't throw. //
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Checks if a file is a binary symbol file. Otherwise it's the text format.
+	 * @param file The file to check.
+	 * @return True if the file starts with MAGIC.
+	 */
+	public static boolean isBinary(File file)
+	{
+		try (RandomAccessFile in = new RandomAccessFile(file, "r"))
+		{
+			return in.length() >= 4 && in.readInt() == MAGIC;
+		}
+		catch (IOException e)
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * Reads a binary symbol file through a memory mapping.
+	 * @param file The file to read.
+	 * @return The read symbol file.
+	 * @throws IOException If the file can't be read or is corrupted.
+	 */
+	public static SymbolFile read(File file) throws IOException
+	{
+		return decode(map(file));
+	}
+
+	/**
+	 * Maps a file into memory, without reading it.
+	 * @param file The file to map.
+	 * @return The content of the file.
+	 * @throws IOException If the file can't be opened.
+	 */
+	public static MappedByteBuffer map(File file) throws IOException
+	{
+		try (RandomAccessFile in = new RandomAccessFile(file, "r"); FileChannel channel = in.getChannel())
+		{
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	/**
+	 * Decodes a binary symbol file.
+	 * @param buffer The content of the file.
+	 * @return The decoded symbol file.
+	 * @throws IOException If the content is corrupted.
+	 */
+	public static SymbolFile decode(ByteBuffer buffer) throws IOException
+	{
+		try
+		{
+			if (buffer.getInt() != MAGIC)
+				throw new IOException("Not a binary symbol file");
+			if (buffer.getShort() != FORMAT_VERSION)
+				throw new IOException("Unknown symbol file format");
+
+			SymbolFile symbolFile = new SymbolFile(readString(buffer));
+			int checksum = buffer.getInt();
+
+			byte[] body = new byte[buffer.remaining()];
+			buffer.duplicate().get(body);
+			CRC32 crc = new CRC32();
+			crc.update(body);
+			if ((int) crc.getValue() != checksum)
+				throw new IOException("Symbol file checksum mismatch");
+
+			String[] strings = new String[buffer.getInt()];
+			for (int i = 0; i < strings.length; i++)
+			{
+				strings[i] = readString(buffer);
+			}
+
+			RecordType[] types = RecordType.values();
+			int recordCount = buffer.getInt();
+			for (int i = 0; i < recordCount; i++)
+			{
+				RecordType type = types[buffer.get()];
+				String[] values = new String[buffer.get()];
+				for (int j = 0; j < values.length; j++)
+				{
+					values[j] = strings[buffer.getInt()];
+				}
+				symbolFile.records.add(new Record(type, values));
+			}
+			return symbolFile;
+		}
+		catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e)
+		{
+			throw new IOException("Truncated symbol file", e);
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String string) throws IOException
+	{
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(ByteBuffer buffer)
+	{
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
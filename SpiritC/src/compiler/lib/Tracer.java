@@ -0,0 +1,174 @@
+package compiler.lib;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records spans of what the compiler does, on every thread, and writes them in the trace event format of Chrome.
+ *
+ * Open the written file in chrome://tracing or https://ui.perfetto.dev to see every thread as a flame chart,
+ * e.g how the import of a class nests the parse of the class that it imports.
+ *
+ * Nothing is recorded unless {@link #enabled} is set.
+ *
+ * Usage:
+ * <pre>
+ * Tracer.begin("parseFile", className);
+ * try { ... } finally { Tracer.end(); }
+ * </pre>
+ *
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+public class Tracer
+{
+	/**
+	 * Record spans. Set before the build starts.
+	 */
+	public static boolean enabled = false;
+
+	/**
+	 * A span of time on one thread.
+	 */
+	private static class Span
+	{
+		final String name;
+		final String className;
+		final long start = System.nanoTime();
+		long end;
+
+		Span(String name, String className)
+		{
+			this.name = name;
+			this.className = className;
+		}
+	}
+
+	/**
+	 * The spans of one thread. Only the thread itself adds to it, until the trace is written.
+	 */
+	private static class ThreadTrace
+	{
+		final long threadId = Thread.currentThread().getId();
+		final String threadName = Thread.currentThread().getName();
+		final int generation;
+		final List<Span> spans = new ArrayList<>();
+
+		/** The spans that have begun but not ended. */
+		final ArrayDeque<Span> open = new ArrayDeque<>();
+
+		ThreadTrace(int generation)
+		{
+			this.generation = generation;
+		}
+	}
+
+	/**
+	 * Bumped by every reset, so that threads that outlive a build start over.
+	 */
+	private static volatile int generation = 0;
+
+	/**
+	 * When the trace started. Every time stamp is relative to it.
+	 */
+	private static volatile long origin = System.nanoTime();
+
+	private static final Queue<ThreadTrace> traces = new ConcurrentLinkedQueue<>();
+
+	private static final ThreadLocal<ThreadTrace> current = new ThreadLocal<>();
+
+	private static ThreadTrace getThreadTrace()
+	{
+		ThreadTrace trace = current.get();
+		if (trace == null || trace.generation != generation)
+		{
+			trace = new ThreadTrace(generation);
+			current.set(trace);
+			traces.add(trace);
+		}
+		return trace;
+	}
+
+	/**
+	 * Begins a span on this thread. Every call has to be followed by a call to {@link #end()}.
+	 * @param name What is done, e.g the name of the method that does it.
+	 * @param className The class that it is done to. Null if none.
+	 */
+	public static void begin(String name, String className)
+	{
+		if (!enabled)
+			return;
+		getThreadTrace().open.push(new Span(name, className));
+	}
+
+	/**
+	 * Ends the span that began last on this thread.
+	 */
+	public static void end()
+	{
+		if (!enabled)
+			return;
+
+		long now = System.nanoTime();
+		ThreadTrace trace = getThreadTrace();
+
+		// Tracing was enabled in the middle of the span. //
+		if (trace.open.isEmpty())
+			return;
+
+		Span span = trace.open.pop();
+		span.end = now;
+		trace.spans.add(span);
+	}
+
+	/**
+	 * Forgets every span and starts the clock over, e.g before the next build of the compile server.
+	 */
+	public static void reset()
+	{
+		generation++;
+		traces.clear();
+		origin = System.nanoTime();
+	}
+
+	/**
+	 * Writes every span that has ended as a Chrome trace.
+	 * Call once the build is done, since the spans of the other threads are read without locking.
+	 * @param file Where to write.
+	 * @throws IOException If the file could not be written.
+	 */
+	public static void write(File file) throws IOException
+	{
+		StringBuilder json = new StringBuilder("{\"traceEvents\": [");
+		String separator = "\n";
+		for (ThreadTrace trace : traces)
+		{
+			// Name the thread, so that the viewer can tell the workers apart. //
+			json.append(separator).append("{\"name\": \"thread_name\", \"ph\": \"M\", \"pid\": 1, \"tid\": ")
+					.append(trace.threadId).append(", \"args\": {\"name\": ").append(BuildStats.quote(trace.threadName)).append("}}");
+			separator = ",\n";
+
+			for (Span span : trace.spans)
+			{
+				json.append(separator).append("{\"name\": ").append(BuildStats.quote(span.name))
+						.append(", \"cat\": \"compiler\", \"ph\": \"X\", \"pid\": 1, \"tid\": ").append(trace.threadId)
+						.append(", \"ts\": ").append(String.format(Locale.ROOT, "%.3f", (span.start - origin) / 1e3))
+						.append(", \"dur\": ").append(String.format(Locale.ROOT, "%.3f", (span.end - span.start) / 1e3));
+				if (span.className != null)
+					json.append(", \"args\": {\"class\": ").append(BuildStats.quote(span.className)).append("}");
+				json.append("}");
+			}
+		}
+		json.append("\n], \"displayTimeUnit\": \"ms\"}\n");
+
+		Files.write(file.toPath(), json.toString().getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,57 @@
+package compiler.tests;
+
+import compiler.ast.*;
+import compiler.ast.ASTChildList.ListKey;
+import compiler.builtins.Builtins;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+class ASTFunctionGroupTest
+{
+	@Test
+	void overloads()
+	{
+		ASTClass astClass = new ASTClass("Overloaded", null);
+		astClass.ignoreImports = true;
+		ASTVariableDeclaration f = new ASTVariableDeclaration(ListKey.BODY, astClass, "f", Builtins.FUNCTION, null);
+		ASTFunctionGroup group = new ASTFunctionGroup(ListKey.VALUE, f, "f");
+
+		ASTFunctionDeclaration none = new ASTFunctionDeclaration(ListKey.BODY, group, Builtins.VOID);
+		ASTFunctionDeclaration ofInt = new ASTFunctionDeclaration(ListKey.BODY, group, Builtins.INT);
+		new ASTVariableDeclaration(ListKey.ARGS, ofInt, "x", Builtins.INT, null);
+		ASTFunctionDeclaration ofString = new ASTFunctionDeclaration(ListKey.BODY, group, Builtins.STRING);
+		new ASTVariableDeclaration(ListKey.ARGS, ofString, "x", Builtins.STRING, null);
+
+		Assertions.assertEquals(Collections.singletonList(none), group.getWithArity(0));
+		Assertions.assertEquals(Arrays.asList(ofInt, ofString), group.getWithArity(1));
+		Assertions.assertTrue(group.getWithArity(2).isEmpty());
+
+		Assertions.assertEquals(ofString, group.getWithMarchingArguments(
+				Collections.singletonList(new ASTString(null, null, "a"))));
+		Assertions.assertEquals(ofInt, group.getWithMarchingArguments(
+				Collections.singletonList(new ASTNumber(null, null, 1))));
+		Assertions.assertNull(group.getWithMarchingArguments(
+				Arrays.asList(new ASTNumber(null, null, 1), new ASTNumber(null, null, 2))));
+
+		// A new overload is found once it is declared. //
+		ASTFunctionDeclaration ofTwo = new ASTFunctionDeclaration(ListKey.BODY, group, Builtins.INT);
+		new ASTVariableDeclaration(ListKey.ARGS, ofTwo, "x", Builtins.INT, null);
+		new ASTVariableDeclaration(ListKey.ARGS, ofTwo, "y", Builtins.INT, null);
+		Assertions.assertEquals(ofTwo, group.getWithMarchingArguments(
+				Arrays.asList(new ASTNumber(null, null, 1), new ASTNumber(null, null, 2))));
+
+		// An argument that is declared later moves the declaration to another arity. //
+		new ASTVariableDeclaration(ListKey.ARGS, none, "x", Builtins.BOOL, null);
+		Assertions.assertTrue(group.getWithArity(0).isEmpty());
+		Assertions.assertEquals(Arrays.asList(none, ofInt, ofString), group.getWithArity(1));
+
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> group.getWithArity(1).clear());
+	}
+}
@@ -0,0 +1,76 @@
+package compiler.tests;
+
+import compiler.ast.ASTChildList.ListKey;
+import compiler.ast.ASTClass;
+import compiler.ast.ASTNumber;
+import compiler.ast.ASTOperator;
+import compiler.ast.ASTVariableDeclaration;
+import compiler.ast.ASTVariableUsage;
+import compiler.builtins.Builtins;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+class ASTParentTest
+{
+	@Test
+	void findSymbol()
+	{
+		ASTClass outer = new ASTClass("Outer", null);
+		outer.ignoreImports = true;
+		ASTVariableDeclaration a = new ASTVariableDeclaration(ListKey.BODY, outer, "a", Builtins.INT, null);
+
+		ASTClass inner = new ASTClass("Inner", outer);
+		ASTVariableDeclaration b = new ASTVariableDeclaration(ListKey.BODY, inner, "b", Builtins.INT, null);
+
+		// Symbols are found in the own scope and in the parent scopes. //
+		Assertions.assertEquals(b, inner.findSymbol("b"));
+		Assertions.assertEquals(a, inner.findSymbol("a"));
+		Assertions.assertEquals(inner, outer.findSymbol("Inner"));
+		Assertions.assertEquals(null, outer.findSymbol("b"));
+
+		// Usages are not declarations. //
+		new ASTVariableUsage(ListKey.BODY, inner, "c");
+		Assertions.assertEquals(null, inner.findSymbol("c"));
+
+		// The first declaration shadows later ones until it is removed. //
+		ASTVariableDeclaration secondB = new ASTVariableDeclaration(ListKey.BODY, inner, "b", Builtins.INT, null);
+		Assertions.assertEquals(b, inner.findSymbol("b"));
+		b.setParent(ListKey.BODY, null);
+		Assertions.assertEquals(secondB, inner.findSymbol("b"));
+		secondB.setParent(ListKey.BODY, outer);
+		Assertions.assertEquals(secondB, inner.findSymbol("b"));
+	}
+
+	@Test
+	void treeVersion()
+	{
+		ASTClass root = new ASTClass("root", null);
+		ASTClass a = new ASTClass("A", root);
+		ASTClass b = new ASTClass("B", root);
+		ASTVariableUsage usage = new ASTVariableUsage(ListKey.BODY, a, "x");
+		long versionA = usage.getTreeVersion();
+		long versionB = b.getTreeVersion();
+
+		// An edit only invalidates what was resolved from its own class. //
+		new ASTVariableDeclaration(ListKey.BODY, a, "x", Builtins.INT, null);
+		Assertions.assertTrue(versionA != usage.getTreeVersion());
+		Assertions.assertEquals(versionB, b.getTreeVersion());
+		Assertions.assertTrue(a.getTreeVersion() != b.getTreeVersion());
+
+		// Nothing is cached outside of a class. //
+		Assertions.assertEquals(-1, root.getTreeVersion());
+
+		// Moving a node, or a node around it, moves it to the version of its new class. //
+		ASTOperator operator = new ASTOperator(ListKey.BODY, a, "+", usage, new ASTNumber(null, null, 1));
+		Assertions.assertEquals(a.getTreeVersion(), usage.getTreeVersion());
+		operator.setParent(ListKey.BODY, b);
+		Assertions.assertEquals(b.getTreeVersion(), usage.getTreeVersion());
+		long versionBefore = usage.getTreeVersion();
+		new ASTVariableDeclaration(ListKey.BODY, b, "y", Builtins.INT, null);
+		Assertions.assertTrue(versionBefore != usage.getTreeVersion());
+	}
+}
@@ -0,0 +1,85 @@
+package compiler.tests;
+
+import compiler.ast.*;
+import compiler.ast.ASTChildList.ListKey;
+import compiler.builtins.Builtins;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+class ASTVisitorTest
+{
+	@Test
+	void visitOrder()
+	{
+		ASTClass astClass = new ASTClass("Visited", null);
+		astClass.ignoreImports = true;
+		ASTVariableDeclaration a = new ASTVariableDeclaration(ListKey.BODY, astClass, "a", Builtins.INT, null);
+		ASTOperator add = new ASTOperator(ListKey.VALUE, a, "+",
+				new ASTNumber(null, null, 1), new ASTVariableUsage(null, null, "b"));
+		ASTVariableDeclaration c = new ASTVariableDeclaration(ListKey.BODY, astClass, "c", Builtins.INT, null);
+
+		List<ASTBase> visited = new ArrayList<>();
+		astClass.accept(new ASTVisitor()
+		{
+			@Override
+			public boolean visitVariableDeclaration(ASTVariableDeclaration declaration)
+			{
+				visited.add(declaration);
+				return true;
+			}
+
+			@Override
+			public boolean visitOperator(ASTOperator operator)
+			{
+				visited.add(operator);
+				return true;
+			}
+
+			@Override
+			public void visitNumber(ASTNumber number)
+			{
+				visited.add(number);
+			}
+
+			@Override
+			public void visitVariableUsage(ASTVariableUsage usage)
+			{
+				visited.add(usage);
+			}
+		});
+
+		// Parents come before their children. //
+		Assertions.assertEquals(5, visited.size());
+		Assertions.assertEquals(a, visited.get(0));
+		Assertions.assertEquals(add, visited.get(1));
+		Assertions.assertEquals(add.getLeftExpression(), visited.get(2));
+		Assertions.assertEquals(add.getRightExpression(), visited.get(3));
+		Assertions.assertEquals(c, visited.get(4));
+
+		// Children are skipped when asked to. //
+		int[] count = {0};
+		astClass.accept(new ASTVisitor()
+		{
+			@Override
+			public boolean visitVariableDeclaration(ASTVariableDeclaration declaration)
+			{
+				count[0]++;
+				return false;
+			}
+
+			@Override
+			public void visitNumber(ASTNumber number)
+			{
+				count[0]++;
+			}
+		});
+		Assertions.assertEquals(2, count[0]);
+	}
+}
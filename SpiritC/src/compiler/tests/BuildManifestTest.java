@@ -0,0 +1,54 @@
+package compiler.tests;
+
+import compiler.BuildManifest;
+import compiler.Main;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+class BuildManifestTest
+{
+	@Test
+	void saveAndLoad() throws IOException
+	{
+		File file = File.createTempFile("build", ".manifest");
+		file.deleteOnExit();
+
+		BuildManifest.Entry entry = new BuildManifest.Entry();
+		entry.sourceHash = BuildManifest.hash("a := 5".getBytes(StandardCharsets.UTF_8));
+		entry.interfaceHash = BuildManifest.hash("Var: a int".getBytes(StandardCharsets.UTF_8));
+		entry.dependencies.put("Object.spirit", "0123");
+		entry.dependencies.put("lib/My Array.spirit", "4567");
+
+		BuildManifest manifest = new BuildManifest(file);
+		manifest.put("./Foo.spirit", entry);
+		manifest.save();
+
+		BuildManifest.Entry loaded = new BuildManifest(file).load().get("./Foo.spirit");
+		Assertions.assertEquals(entry.sourceHash, loaded.sourceHash);
+		Assertions.assertEquals(entry.interfaceHash, loaded.interfaceHash);
+		Assertions.assertEquals(entry.dependencies, loaded.dependencies);
+		Assertions.assertEquals(null, new BuildManifest(file).load().get("./Bar.spirit"));
+
+		// A manifest from another compiler version is ignored. //
+		String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+		Files.write(file.toPath(), content.replace(Main.VERSION, "0.0.0").getBytes(StandardCharsets.UTF_8));
+		Assertions.assertEquals(null, new BuildManifest(file).load().get("./Foo.spirit"));
+	}
+
+	@Test
+	void hash()
+	{
+		Assertions.assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+				BuildManifest.hash(new byte[0]));
+		Assertions.assertEquals(null, BuildManifest.hashFile(new File("does/not/exist")));
+	}
+}
@@ -0,0 +1,143 @@
+package compiler.tests;
+
+import compiler.BuildScheduler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+class BuildSchedulerTest
+{
+	/**
+	 * Finds the classes in one directory and records what would be compiled instead of compiling it.
+	 */
+	private static class RecordingScheduler extends BuildScheduler
+	{
+		private final Path directory;
+
+		/** The classes in the order they were compiled. */
+		final List<String> compiled = Collections.synchronizedList(new ArrayList<>());
+
+		/** The thread that compiled each class. */
+		final Map<String, String> threads = new ConcurrentHashMap<>();
+
+		/** Classes that fail to compile. */
+		final Set<String> failing = new HashSet<>();
+
+		RecordingScheduler(Path directory)
+		{
+			super(null, 2);
+			this.directory = directory;
+		}
+
+		@Override
+		protected String locate(String fileName)
+		{
+			Path file = directory.resolve(fileName);
+			return Files.isRegularFile(file) ? file.toString() : null;
+		}
+
+		@Override
+		protected void compile(String fileName)
+		{
+			threads.put(fileName, Thread.currentThread().getName());
+			if (failing.contains(fileName))
+				throw new IllegalStateException("Broken " + fileName);
+			compiled.add(fileName);
+		}
+	}
+
+	private static Path createProject(String... files) throws IOException
+	{
+		Path directory = Files.createTempDirectory("spirit-schedule");
+		Files.write(directory.resolve("Object.spirit"), new byte[0]);
+		for (int i = 0; i < files.length; i += 2)
+		{
+			Files.write(directory.resolve(files[i]), files[i + 1].getBytes(StandardCharsets.UTF_8));
+		}
+		return directory;
+	}
+
+	@Test
+	void scanImports() throws IOException
+	{
+		Path directory = createProject(
+				"Foo.spirit", "import Bar\nfrom lib.Baz import Qux, Quux\na := \"import Nope\"\n");
+
+		// Only import lines count, and every class but Object imports Object. //
+		Assertions.assertEquals(Arrays.asList("Object", "Bar", "lib.Baz"),
+				BuildScheduler.scanImports(directory.resolve("Foo.spirit").toString()));
+		Assertions.assertEquals(Collections.emptyList(),
+				BuildScheduler.scanImports(directory.resolve("Object.spirit").toString()));
+		Assertions.assertEquals(Collections.singletonList("Object"),
+				BuildScheduler.scanImports(directory.resolve("Missing.spirit").toString()));
+	}
+
+	@Test
+	void topologicalOrder() throws IOException
+	{
+		Path directory = createProject(
+				"Main.spirit", "import Foo\nimport Bar\nimport Missing\n",
+				"Foo.spirit", "import Bar\n",
+				"Bar.spirit", "");
+		RecordingScheduler scheduler = new RecordingScheduler(directory);
+
+		Assertions.assertTrue(scheduler.build(Collections.singletonList("Main.spirit")));
+
+		// Dependencies are compiled first. Files that don't exist are left for the importer to report. //
+		List<String> compiled = scheduler.compiled;
+		Assertions.assertEquals(5, compiled.size());
+		Assertions.assertTrue(compiled.indexOf("Object.spirit") < compiled.indexOf("Bar.spirit"));
+		Assertions.assertTrue(compiled.indexOf("Bar.spirit") < compiled.indexOf("Foo.spirit"));
+		Assertions.assertTrue(compiled.indexOf("Foo.spirit") < compiled.indexOf("Main.spirit"));
+		Assertions.assertTrue(compiled.indexOf("Missing.spirit") < compiled.indexOf("Main.spirit"));
+		for (String thread : scheduler.threads.values())
+		{
+			Assertions.assertEquals("spirit-worker", thread);
+		}
+	}
+
+	@Test
+	void cycles() throws IOException
+	{
+		Path directory = createProject(
+				"A.spirit", "import B\n",
+				"B.spirit", "import A\n",
+				"C.spirit", "import A\n");
+		RecordingScheduler scheduler = new RecordingScheduler(directory);
+
+		Assertions.assertTrue(scheduler.build(Arrays.asList("A.spirit", "C.spirit")));
+
+		// The cycle and everything behind it is compiled on the calling thread, after the rest. //
+		Assertions.assertEquals(Arrays.asList("Object.spirit", "A.spirit", "B.spirit", "C.spirit"), scheduler.compiled);
+		Assertions.assertEquals("spirit-worker", scheduler.threads.get("Object.spirit"));
+		String self = Thread.currentThread().getName();
+		Assertions.assertEquals(self, scheduler.threads.get("A.spirit"));
+		Assertions.assertEquals(self, scheduler.threads.get("B.spirit"));
+		Assertions.assertEquals(self, scheduler.threads.get("C.spirit"));
+	}
+
+	@Test
+	void failure() throws IOException
+	{
+		Path directory = createProject(
+				"Main.spirit", "import Foo\n",
+				"Foo.spirit", "import Bar\n",
+				"Bar.spirit", "");
+		RecordingScheduler scheduler = new RecordingScheduler(directory);
+		scheduler.failing.add("Bar.spirit");
+
+		// The build fails, but the dependents are still released so that nothing hangs. //
+		Assertions.assertFalse(scheduler.build(Collections.singletonList("Main.spirit")));
+		Assertions.assertEquals(Arrays.asList("Object.spirit", "Foo.spirit", "Main.spirit"), scheduler.compiled);
+	}
+}
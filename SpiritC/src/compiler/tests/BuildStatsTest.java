@@ -0,0 +1,81 @@
+package compiler.tests;
+
+import compiler.lib.BuildStats;
+import compiler.lib.PhaseTimer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+/**
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+class BuildStatsTest
+{
+	@Test
+	void countOnlyWhenEnabled()
+	{
+		BuildStats.reset();
+		BuildStats.enabled = false;
+		BuildStats.count(BuildStats.Counter.TOKENS);
+		Assertions.assertEquals(0, BuildStats.get(BuildStats.Counter.TOKENS));
+
+		BuildStats.enabled = true;
+		try
+		{
+			BuildStats.count(BuildStats.Counter.TOKENS);
+			BuildStats.add(BuildStats.Counter.TOKENS, 4);
+			Assertions.assertEquals(5, BuildStats.get(BuildStats.Counter.TOKENS));
+		}
+		finally
+		{
+			BuildStats.enabled = false;
+			BuildStats.reset();
+		}
+	}
+
+	@Test
+	void nestedPhasesOfClasses() throws IOException
+	{
+		PhaseTimer.reset();
+		PhaseTimer.detailed = true;
+		try
+		{
+			// A parse of A that imports B, like FileCompiler does. //
+			PhaseTimer.start(PhaseTimer.Phase.PARSE, "A");
+			PhaseTimer.start(PhaseTimer.Phase.PARSE, "B");
+			PhaseTimer.stop();
+			PhaseTimer.start(PhaseTimer.Phase.CHECK, "B");
+			PhaseTimer.stop();
+			PhaseTimer.stop();
+
+			Assertions.assertEquals(2, PhaseTimer.getRuns(PhaseTimer.Phase.PARSE));
+			Map<String, Map<PhaseTimer.Phase, long[]>> classes = PhaseTimer.getClassTotals();
+			Assertions.assertEquals(2, classes.size());
+
+			// The parse of A doesn't count the time spent on B. //
+			long parseA = classes.get("A").get(PhaseTimer.Phase.PARSE)[PhaseTimer.Measure.WALL_NANOS.ordinal()];
+			long parseB = classes.get("B").get(PhaseTimer.Phase.PARSE)[PhaseTimer.Measure.WALL_NANOS.ordinal()];
+			Assertions.assertEquals(PhaseTimer.getNanos(PhaseTimer.Phase.PARSE), parseA + parseB);
+			Assertions.assertEquals(0, classes.get("A").get(PhaseTimer.Phase.CHECK)[0]);
+
+			File json = File.createTempFile("stats", ".json");
+			json.deleteOnExit();
+			BuildStats.writeJson(json);
+			String written = new String(Files.readAllBytes(json.toPath()), StandardCharsets.UTF_8);
+			Assertions.assertTrue(written.contains("\"PARSE\": {\"wallNanos\": "));
+			Assertions.assertTrue(written.contains("\"B\": {"));
+			Assertions.assertTrue(written.contains("\"TOKENS\": 0"));
+		}
+		finally
+		{
+			PhaseTimer.detailed = false;
+			PhaseTimer.reset();
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package compiler.tests;
+
+import compiler.FileCompiler;
+import compiler.Lexer;
+import compiler.NameResolver;
+import compiler.Parser;
+import compiler.Polisher;
+import compiler.ast.ASTClass;
+import compiler.ast.ASTFunctionGroup;
+import compiler.ast.ASTVariableDeclaration;
+import compiler.builtins.Builtins;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+class FileCompilerTest
+{
+	private static ASTClass parse(String name, ASTClass parent, String source)
+	{
+		ASTClass astClass = new ASTClass(name, parent);
+		astClass.ignoreImports = true;
+		new Parser(new Lexer(source, name + ".spirit")).parseFile(astClass);
+		new Polisher(astClass).polishClass();
+		new NameResolver(astClass).resolveClass();
+		return astClass;
+	}
+
+	private static ASTFunctionGroup group(ASTClass astClass, String name)
+	{
+		return (ASTFunctionGroup) ((ASTVariableDeclaration) astClass.findSymbol(name)).getValue();
+	}
+
+	@Test
+	void releaseBodies()
+	{
+		ASTClass root = new ASTClass("root", null);
+		ASTClass compiled = parse("A", root, "a := 5\n" +
+				"new : (x : int)\n\ta = x\n" +
+				"f : (x : int) int = x + a\n" +
+				"f : (x : int, y : int) int = x + y\n");
+
+		ASTClass released = FileCompiler.releaseBodies(compiled, root);
+
+		// The signatures take the place of the compiled class. //
+		Assertions.assertNull(compiled.getParent());
+		Assertions.assertSame(released, root.findSymbol("A"));
+		Assertions.assertEquals(Builtins.INT, released.findSymbol("a").getExpressionType());
+		Assertions.assertEquals(1, group(released, "f").getWithArity(1).size());
+		Assertions.assertEquals(1, group(released, "f").getWithArity(2).size());
+		Assertions.assertTrue(released.getConstructorDeclared());
+		Assertions.assertEquals(1, group(released, "new").getWithArity(1).size());
+
+		// A dependent resolves against the signatures. //
+		ASTClass dependent = parse("B", root, "x := A.new 3\ny := x.f 1 2\n");
+		Assertions.assertSame(released, dependent.findSymbol("x").getExpressionType());
+		Assertions.assertEquals(Builtins.INT, dependent.findSymbol("y").getExpressionType());
+	}
+}
@@ -1,7 +1,10 @@
 package compiler.tests;
 
 import compiler.Lexer;
+import compiler.SymbolInterner;
+import compiler.Syntax;
 import compiler.Token;
+import compiler.TokenKind;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -52,6 +55,8 @@ class LexerTest
 		testForTokens("a \"Kawaii desu ne?\" ", new String[]{"a", "Kawaii desu ne?", ""});
 
 		testForTokens("a is b", new String[]{"a", "==", "b"});
+		testForTokens("a <% 50% < 100 %> b", new String[]{"a", "b"});
+		testForTokens("a <% x <% y %> z %> b", new String[]{"a", "b"});
 		testForTokens("[T]", new String[]{"[", "T", "]"});
 		System.out.println("Test/s successful.");
 
@@ -60,4 +65,57 @@ class LexerTest
 
 	}
 
+	@Test
+	void internedTokens()
+	{
+		Lexer first = new Lexer("import self is int", "First.spirit");
+		Lexer second = new Lexer("self int", "Second.spirit");
+
+		// Keywords are the constants themselves. //
+		Assertions.assertSame(Syntax.Keyword.IMPORT, first.getToken().value);
+
+		// Words are shared between lexers. //
+		Token self = first.getToken();
+		Assertions.assertSame(self.value, second.getToken().value);
+		Assertions.assertSame(SymbolInterner.intern("self"), self.symbol);
+
+		// Textual operators are turned into their operator. //
+		Token is = first.getToken();
+		Assertions.assertEquals(Token.TokenType.OPERATOR, is.tokenType);
+		Assertions.assertSame(Syntax.Op.Cond.EQU, is.value);
+
+		Assertions.assertSame(first.getToken().value, second.getToken().value);
+
+		// Literals aren't interned, and a reset only keeps the constants. //
+		int size = SymbolInterner.size();
+		Token number = new Lexer("12345", "Number.spirit").getToken();
+		Assertions.assertNull(number.symbol);
+		Assertions.assertEquals(size, SymbolInterner.size());
+		SymbolInterner.reset();
+		Assertions.assertTrue(SymbolInterner.size() < size);
+		Assertions.assertSame(Syntax.Keyword.IMPORT, new Lexer("import", "Reset.spirit").getToken().value);
+
+		// The parentheses the lexer holds on to are still the canonical ones. //
+		Lexer call = new Lexer("f()", "Call.spirit");
+		call.getToken();
+		Assertions.assertSame(SymbolInterner.intern("("), call.getToken().symbol);
+		Assertions.assertSame(SymbolInterner.intern(")"), call.getToken().symbol);
+	}
+
+	@Test
+	void tokenKinds()
+	{
+		Lexer lexer = new Lexer("if a is \"if\" + 2 [", "Kinds.spirit");
+		Assertions.assertEquals(TokenKind.IF, lexer.getToken().kind);
+		Assertions.assertEquals(TokenKind.NONE, lexer.getToken().kind);
+		Assertions.assertEquals(TokenKind.EQU, lexer.getToken().kind);
+
+		// Strings are never keywords. //
+		Assertions.assertEquals(TokenKind.NONE, lexer.getToken().kind);
+
+		Assertions.assertEquals(TokenKind.ADD, lexer.getToken().kind);
+		Assertions.assertEquals(TokenKind.NONE, lexer.getToken().kind);
+		Assertions.assertEquals(TokenKind.GENERIC_START, lexer.getToken().kind);
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package compiler.tests;
+
+import compiler.lib.OutputWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+class OutputWriterTest
+{
+	@Test
+	void awaitFile() throws IOException
+	{
+		Path directory = Files.createTempDirectory("spirit-output");
+		OutputWriter writer = new OutputWriter();
+
+		// Enough files that the last one is still queued when it is waited for. //
+		for (int i = 0; i < 100; i++)
+		{
+			writer.write(directory.resolve(i + ".hpp").toFile(), ("// " + i + " //").getBytes(StandardCharsets.UTF_8));
+		}
+		File last = directory.resolve("99.hpp").toFile();
+		writer.awaitFile(new File(directory.toFile(), "./99.hpp"));
+		Assertions.assertEquals("// 99 //", new String(Files.readAllBytes(last.toPath()), StandardCharsets.UTF_8));
+
+		// Files that aren't queued are not waited for. //
+		writer.awaitFile(directory.resolve("other.hpp").toFile());
+
+		Assertions.assertTrue(writer.finish().isEmpty());
+		Assertions.assertEquals(100, directory.toFile().list().length);
+	}
+
+	@Test
+	void finish() throws IOException
+	{
+		Path directory = Files.createTempDirectory("spirit-output");
+		Path blocker = directory.resolve("blocker");
+		Files.write(blocker, new byte[0]);
+		Path occupied = directory.resolve("occupied");
+		Files.createDirectories(occupied.resolve("child"));
+		OutputWriter writer = new OutputWriter();
+
+		// A file inside of a file, and a file in place of a directory that isn't empty. //
+		writer.write(blocker.resolve("A.hpp").toFile(), new byte[] {1});
+		writer.write(occupied.toFile(), new byte[] {2});
+		writer.write(directory.resolve("B.hpp").toFile(), new byte[] {3});
+
+		// The errors are handed out once, and the other files are still written. //
+		List<IOException> errors = writer.finish();
+		Assertions.assertEquals(2, errors.size());
+		Assertions.assertTrue(writer.finish().isEmpty());
+		Assertions.assertArrayEquals(new byte[] {3}, Files.readAllBytes(directory.resolve("B.hpp")));
+
+		// Nothing is left behind by the failed writes. //
+		Assertions.assertTrue(Files.isDirectory(occupied.resolve("child")));
+		Assertions.assertEquals(3, directory.toFile().list().length);
+	}
+}
@@ -3,7 +3,10 @@ package compiler.tests;
 import compiler.Lexer;
 import compiler.ParserSYM;
 import compiler.ast.ASTClass;
+import compiler.ast.ASTFunctionGroup;
+import compiler.ast.ASTVariableDeclaration;
 import compiler.lib.IndentPrinter;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -36,4 +39,25 @@ class ParserSYMTest
 					"Fun: b void\n" +
 					"Var: A int");
 	}
-}
\ No newline at end of file
+
+	@Test
+	void overloads()
+	{
+		Lexer lexer = new Lexer("Arg: x int\n" +
+				"Fun: f int\n" +
+				"Arg: x int\n" +
+				"Arg: y int\n" +
+				"Fun: f int\n" +
+				"Fun: g void\n", "Test");
+		ASTClass astClass = new ASTClass("Test", null);
+		astClass.ignoreImports = true;
+		new ParserSYM(lexer).parseFile(astClass);
+
+		// Every function only takes its own arguments, and overloads share a group. //
+		ASTFunctionGroup f = (ASTFunctionGroup) ((ASTVariableDeclaration) astClass.findSymbol("f")).getValue();
+		Assertions.assertEquals(1, f.getWithArity(1).size());
+		Assertions.assertEquals(1, f.getWithArity(2).size());
+		ASTFunctionGroup g = (ASTFunctionGroup) ((ASTVariableDeclaration) astClass.findSymbol("g")).getValue();
+		Assertions.assertEquals(1, g.getWithArity(0).size());
+	}
+}
@@ -4,7 +4,9 @@ import compiler.Lexer;
 import compiler.Main;
 import compiler.Parser;
 import compiler.ast.ASTClass;
+import compiler.ast.ASTVariableDeclaration;
 import compiler.lib.IndentPrinter;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.*;
@@ -63,6 +65,22 @@ class ParserTest
 		testClassCompile(true, name, testString, "");
 	}
 
+	@Test
+	void keywordsAsNames()
+	{
+		Lexer lexer = new Lexer("a : int\ntype : int\nfrom : int\nimport := 5\n", "Keywords" + Main.FILE_EXTENSION);
+		ASTClass astClass = new ASTClass("Keywords", null);
+		Parser parser = new Parser(lexer);
+		parser.fileTypeDeclared = true;
+		parser.ignoreImport = true;
+		parser.parseFile(astClass);
+
+		// A keyword that is declared is just a name. //
+		Assertions.assertTrue(astClass.findSymbol("type") instanceof ASTVariableDeclaration);
+		Assertions.assertTrue(astClass.findSymbol("from") instanceof ASTVariableDeclaration);
+		Assertions.assertTrue(astClass.findSymbol("import") instanceof ASTVariableDeclaration);
+	}
+
 	@Test
 	void singleTest()
 	{
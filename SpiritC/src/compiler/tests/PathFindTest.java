@@ -0,0 +1,47 @@
+package compiler.tests;
+
+import compiler.lib.PathFind;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+class PathFindTest
+{
+	@Test
+	void findInPath() throws IOException
+	{
+		Path first = Files.createTempDirectory("spirit-path");
+		Path second = Files.createTempDirectory("spirit-path");
+		String path = first + ":" + new File(first.toFile(), "missing") + ":" + second;
+		PathFind.invalidate();
+
+		Files.createDirectories(second.resolve("out"));
+		Files.write(second.resolve("out/A.hpp"), new byte[0]);
+		Assertions.assertEquals(second + "/out/A.hpp", PathFind.findInPath(path, "out/A.hpp"));
+		Assertions.assertNull(PathFind.findInPath(path, "out/B.hpp"));
+
+		// Files that are written after their directory was listed are found once they are added. //
+		Files.write(second.resolve("out/B.hpp"), new byte[0]);
+		Assertions.assertNull(PathFind.findInPath(path, "out/B.hpp"));
+		PathFind.added(new File(second.toFile(), "out/./B.hpp"));
+		Assertions.assertEquals(second + "/out/B.hpp", PathFind.findInPath(path, "out/B.hpp"));
+
+		// Earlier locations in the path come first, once the old result is forgotten. //
+		Files.createDirectories(first.resolve("out"));
+		Files.write(first.resolve("out/A.hpp"), new byte[0]);
+		Assertions.assertEquals(second + "/out/A.hpp", PathFind.findInPath(path, "out/A.hpp"));
+		PathFind.invalidate();
+		Assertions.assertEquals(first + "/out/A.hpp", PathFind.findInPath(path, "out/A.hpp"));
+
+		// Directories are not files. //
+		Assertions.assertNull(PathFind.findInPath(path, "out"));
+	}
+}
@@ -1,6 +1,8 @@
 package compiler.tests;
 
 import compiler.SpiritType;
+import compiler.TypeRegistry;
+import compiler.ast.ASTClass;
 import compiler.builtins.Builtins;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -23,4 +25,36 @@ public class SpiritTypeTest
 		Assertions.assertEquals(SpiritType.isAssignableFrom(Builtins.getBuiltin("int"),
 				Builtins.getBuiltin("int")), true);
 	}
+
+	@Test
+	void testGetBuiltin()
+	{
+		Assertions.assertSame(Builtins.INT, Builtins.getBuiltin("int"));
+
+		// Unknown types are shared, so they are assignable from themselves. //
+		SpiritType unknown = Builtins.getBuiltin("Unknown");
+		Assertions.assertSame(unknown, Builtins.getBuiltin("Unknown"));
+		Assertions.assertEquals(SpiritType.isAssignableFrom(unknown, Builtins.getBuiltin("Unknown")), true);
+	}
+
+	@Test
+	void testClassHierarchy()
+	{
+		ASTClass animal = new ASTClass("Animal", null);
+		ASTClass dog = new ASTClass("Dog", null);
+		ASTClass cat = new ASTClass("Cat", null);
+		dog.extendsClassAST = animal;
+		cat.extendsClassAST = animal;
+		TypeRegistry.hierarchyChanged();
+
+		Assertions.assertTrue(SpiritType.isAssignableFrom(animal, dog));
+		Assertions.assertFalse(SpiritType.isAssignableFrom(dog, animal));
+		Assertions.assertFalse(SpiritType.isAssignableFrom(cat, dog));
+
+		// The displays are rebuilt when a class extends something else. //
+		cat.extendsClassAST = dog;
+		TypeRegistry.hierarchyChanged();
+		Assertions.assertTrue(SpiritType.isAssignableFrom(dog, cat));
+		Assertions.assertTrue(SpiritType.isAssignableFrom(animal, cat));
+	}
 }
@@ -0,0 +1,67 @@
+package compiler.tests;
+
+import compiler.ParserSYM;
+import compiler.ast.ASTClass;
+import compiler.lib.SymbolFile;
+import compiler.lib.SymbolFile.RecordType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+class SymbolFileTest
+{
+	private SymbolFile createSymbolFile()
+	{
+		SymbolFile symbolFile = new SymbolFile("0.0.1 ALPHA");
+		symbolFile.add(RecordType.ClassName, "SymTest");
+		symbolFile.add(RecordType.ExtendsClass, "null");
+		symbolFile.add(RecordType.Arg, "c", "int");
+		symbolFile.add(RecordType.Fun, "a", "int");
+		symbolFile.add(RecordType.Var, "A", "int");
+		return symbolFile;
+	}
+
+	@Test
+	void encodeAndDecode() throws IOException
+	{
+		SymbolFile decoded = SymbolFile.decode(ByteBuffer.wrap(createSymbolFile().toBytes()));
+
+		Assertions.assertEquals("0.0.1 ALPHA", decoded.getCompilerVersion());
+		Assertions.assertEquals(5, decoded.getRecords().size());
+		Assertions.assertEquals(RecordType.Arg, decoded.getRecords().get(2).type);
+		Assertions.assertArrayEquals(new String[] {"c", "int"}, decoded.getRecords().get(2).values);
+		Assertions.assertArrayEquals(new String[] {"A", "int"}, decoded.getRecords().get(4).values);
+	}
+
+	@Test
+	void corrupted()
+	{
+		byte[] bytes = createSymbolFile().toBytes();
+
+		byte[] flipped = bytes.clone();
+		flipped[flipped.length - 1] ^= 1;
+		Assertions.assertThrows(IOException.class, () -> SymbolFile.decode(ByteBuffer.wrap(flipped)));
+
+		byte[] truncated = new byte[bytes.length / 2];
+		System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+		Assertions.assertThrows(IOException.class, () -> SymbolFile.decode(ByteBuffer.wrap(truncated)));
+	}
+
+	@Test
+	void parse() throws IOException
+	{
+		SymbolFile symbolFile = SymbolFile.decode(ByteBuffer.wrap(createSymbolFile().toBytes()));
+		ASTClass astClass = new ASTClass("SymTest", null);
+		astClass.ignoreImports = true;
+
+		Assertions.assertTrue(new ParserSYM(symbolFile).parseFile(astClass));
+		Assertions.assertNotNull(astClass.findSymbol("a"));
+		Assertions.assertNotNull(astClass.findSymbol("A"));
+	}
+}
@@ -0,0 +1,59 @@
+package compiler.tests;
+
+import compiler.lib.Tracer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * @author Tyrerexus
+ * @date 10/17/26
+ */
+class TracerTest
+{
+	@Test
+	void write() throws IOException, InterruptedException
+	{
+		Tracer.reset();
+		Tracer.enabled = true;
+		try
+		{
+			Tracer.begin("importFile", "A");
+			Tracer.begin("parseFile", "A");
+			Tracer.end();
+			Tracer.end();
+
+			Thread worker = new Thread(() -> {
+				Tracer.begin("parseFile", "B");
+				Tracer.end();
+			}, "test-worker");
+			worker.start();
+			worker.join();
+
+			File trace = File.createTempFile("trace", ".json");
+			trace.deleteOnExit();
+			Tracer.write(trace);
+			String written = new String(Files.readAllBytes(trace.toPath()), StandardCharsets.UTF_8);
+
+			Assertions.assertTrue(written.startsWith("{\"traceEvents\": ["));
+			Assertions.assertTrue(written.contains("\"name\": \"importFile\""));
+			Assertions.assertTrue(written.contains("\"args\": {\"class\": \"B\"}"));
+			Assertions.assertTrue(written.contains("\"args\": {\"name\": \"test-worker\"}"));
+
+			// A reset forgets the spans of every thread. //
+			Tracer.reset();
+			Tracer.write(trace);
+			written = new String(Files.readAllBytes(trace.toPath()), StandardCharsets.UTF_8);
+			Assertions.assertFalse(written.contains("parseFile"));
+		}
+		finally
+		{
+			Tracer.enabled = false;
+			Tracer.reset();
+		}
+	}
+}